@@ -0,0 +1,166 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/AdaptiveWait.java */
+
+package com.opencart.utilities;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Wait;
+
+import com.aventstack.extentreports.ExtentReports;
+
+/**
+ * The wait engine behind WaitUtils: a FluentWait-style wait whose polling
+ * interval adapts to how long the wait has been running.
+ *
+ * For the first FAST_WINDOW_MILLIS the condition is checked every
+ * wait.poll.min.ms, so elements that show up almost at once are seen almost
+ * at once. After that the interval doubles on every check, up to
+ * wait.poll.max.ms, so a slow page costs a handful of driver commands instead
+ * of one every 500 ms. Conditions are checked with the implicit wait
+ * suspended (see ImplicitWaitScope), so a failing find costs one round trip
+ * and the schedule, not implicit.wait, sets the pace. Instances are cached
+ * per thread and re-armed by on(), so timed waits allocate nothing. The
+ * checks per wait are recorded, along with the checks a fixed 500 ms interval
+ * would have made, and published to the Extent system info at suite end.
+ *
+ * <pre>
+ * AdaptiveWait.on(driver).withTimeout(Duration.ofSeconds(5)).until(condition);
+ * </pre>
+ */
+public class AdaptiveWait implements Wait<WebDriver> {
+
+    private static final Logger logger = Logger.getLogger(AdaptiveWait.class);
+
+    private static final long FAST_WINDOW_MILLIS = 300;
+    private static final long FIXED_POLL_MILLIS = 500;
+
+    private static final ThreadLocal<AdaptiveWait> cached = ThreadLocal.withInitial(AdaptiveWait::new);
+
+    private static final AtomicLong waits = new AtomicLong();
+    private static final AtomicLong polls = new AtomicLong();
+    private static final AtomicLong fixedPolls = new AtomicLong();
+
+    private final List<Class<? extends Throwable>> ignored = new ArrayList<>();
+    private WebDriver driver;
+    private Duration timeout;
+    private long maxPollMillis;
+
+    private AdaptiveWait() {
+    }
+
+    /**
+     * This thread's wait, re-armed for {@code driver} with the explicit.wait
+     * timeout, ignoring NotFoundException and StaleElementReferenceException
+     * like WebDriverWait.
+     */
+    public static AdaptiveWait on(WebDriver driver) {
+        AdaptiveWait wait = cached.get();
+        wait.driver = driver;
+        wait.timeout = Duration.ofSeconds(ConfigReader.getExplicitWait());
+        wait.maxPollMillis = ConfigReader.getWaitPollMaxMillis();
+        wait.ignored.clear();
+        wait.ignored.add(NotFoundException.class);
+        wait.ignored.add(StaleElementReferenceException.class);
+        return wait;
+    }
+
+    public AdaptiveWait withTimeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /** Caps the backoff below wait.poll.max.ms. */
+    public AdaptiveWait withMaxPolling(Duration interval) {
+        this.maxPollMillis = Math.min(maxPollMillis, Math.max(1, interval.toMillis()));
+        return this;
+    }
+
+    public AdaptiveWait ignoring(Class<? extends Throwable> type) {
+        ignored.add(type);
+        return this;
+    }
+
+    /**
+     * Checks {@code condition} on the adaptive schedule until it returns
+     * something other than null or false. Throws TimeoutException, with the
+     * last ignored exception as cause, once the timeout has passed.
+     */
+    @Override
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        // Copied up front: the condition may itself use this thread's wait
+        WebDriver target = driver;
+        Duration limit = timeout;
+        long maxInterval = maxPollMillis;
+        List<Class<? extends Throwable>> ignoring = new ArrayList<>(ignored);
+
+        long start = System.currentTimeMillis();
+        long deadline = start + limit.toMillis();
+        long interval = Math.min(ConfigReader.getWaitPollMinMillis(), maxInterval);
+        int checks = 0;
+        RuntimeException lastIgnored = null;
+        try (ImplicitWaitScope scope = ImplicitWaitScope.suspend(target)) {
+            while (true) {
+                checks++;
+                try {
+                    T value = condition.apply(target);
+                    if (value != null && !Boolean.FALSE.equals(value)) return value;
+                } catch (RuntimeException e) {
+                    if (ignoring.stream().noneMatch(type -> type.isInstance(e))) throw e;
+                    lastIgnored = e;
+                }
+
+                long now = System.currentTimeMillis();
+                if (now >= deadline) {
+                    throw new TimeoutException("Expected condition failed: waiting for " + condition + " (tried for "
+                            + limit.getSeconds() + " second(s) with adaptive polling, " + checks + " check(s))",
+                            lastIgnored);
+                }
+                interval = nextInterval(interval, now - start, maxInterval);
+                WaitUtils.sleep(Math.min(interval, deadline - now));
+            }
+        } finally {
+            record(checks, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * The pause before the next check: unchanged inside the fast window, then
+     * doubled on every check up to {@code maxInterval}.
+     */
+    static long nextInterval(long interval, long elapsedMillis, long maxInterval) {
+        if (elapsedMillis < FAST_WINDOW_MILLIS) return interval;
+        return Math.min(interval * 2, maxInterval);
+    }
+
+    private static void record(int checks, long elapsedMillis) {
+        waits.incrementAndGet();
+        polls.addAndGet(checks);
+        fixedPolls.addAndGet(elapsedMillis / FIXED_POLL_MILLIS + 1);
+    }
+
+    /**
+     * Logs the checks per wait, next to what fixed 500 ms polling would have
+     * cost, and adds them to the Extent report. Call before the report is
+     * flushed.
+     */
+    public static void publishToReport() {
+        if (waits.get() == 0) return;
+        String summary = waits.get() + " wait(s), " + String.format("%.1f", (double) polls.get() / waits.get())
+                + " check(s) per wait (fixed 500 ms polling: "
+                + String.format("%.1f", (double) fixedPolls.get() / waits.get()) + ")";
+        logger.info("[INFO] Adaptive polling: " + summary);
+        ExtentReports extent = ExtentManager.getInstance();
+        if (extent != null) {
+            extent.setSystemInfo("Adaptive Polling", summary);
+        }
+    }
+}
@@ -22,7 +22,7 @@ public class AllureTestListener implements ITestListener {
                     .getMethod("getDriver")
                     .invoke(currentClass);
             
-            if (driver != null) {
+            if (driver != null && ScreenshotUtils.supportsScreenshots(driver, result)) {
                 byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
                 Allure.addAttachment("Screenshot on Failure", "image/png", 
                     new ByteArrayInputStream(screenshot), ".png");
@@ -37,6 +37,7 @@ public class AllureTestListener implements ITestListener {
             Allure.addAttachment("Stack Trace", "text/plain", 
                 result.getThrowable().toString());
         }
+        attachStartupTiming();
     }
 
     @Override
@@ -44,6 +45,19 @@ public class AllureTestListener implements ITestListener {
         long duration = result.getEndMillis() - result.getStartMillis();
         Allure.addAttachment("Test Duration", "text/plain", 
             duration + "ms");
+        attachStartupTiming();
+    }
+
+    /**
+     * Attach the launch timing of the browser that ran this test, once per browser
+     */
+    private void attachStartupTiming() {
+        DriverSession session = WebDriverFactory.getSession();
+        DriverStartupTiming timing = session == null ? null : session.getStartupTiming();
+        if (timing != null && timing.markAttached()) {
+            Allure.addAttachment("Driver Startup Timing (" + timing.getLabel() + ")", "text/plain",
+                timing.toString());
+        }
     }
 
     @Override
@@ -60,7 +74,7 @@ public class AllureTestListener implements ITestListener {
             Object testInstance = result.getInstance();
             WebDriver driver = getDriverFromTestInstance(testInstance);
             
-            if (driver != null) {
+            if (driver != null && ScreenshotUtils.supportsScreenshots(driver, result)) {
                 byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
                 Allure.addAttachment(attachmentName, "image/png", 
                     new ByteArrayInputStream(screenshot), ".png");
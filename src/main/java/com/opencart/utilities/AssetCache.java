@@ -0,0 +1,307 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/AssetCache.java */
+
+package com.opencart.utilities;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Record/replay cache for static assets (CSS, JS, images, fonts), served
+ * through DevTools request interception (see FetchInterception).
+ *
+ * On a miss the response is recorded at the response stage into an on-disk
+ * store: one body file per URL plus an index.json holding the status, the
+ * headers and the validators (ETag / Last-Modified). On a hit the request is
+ * fulfilled from the store without touching the network. Entries older than
+ * asset.cache.max.age hours are dropped. The store is bounded by
+ * asset.cache.max.mb and evicts least-recently-used entries first.
+ *
+ * Only static assets are cached, so documents still need the server, but a
+ * seeded store lets a run replay its assets offline. Hits, misses and bytes
+ * saved are logged and written to the Extent system info at suite end.
+ * Enabled with asset.cache.enabled=true (Chrome and Edge only).
+ */
+public class AssetCache implements FetchInterception.Handler {
+
+    private static final Logger logger = Logger.getLogger(AssetCache.class);
+    private static final AssetCache INSTANCE = new AssetCache();
+
+    /** Headers that no longer apply once the body is stored decoded. */
+    private static final List<String> DROPPED_HEADERS = List.of("content-encoding", "content-length",
+            "transfer-encoding");
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private final AtomicInteger recorded = new AtomicInteger();
+    private final AtomicInteger evicted = new AtomicInteger();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    private final Map<String, Entry> index = new LinkedHashMap<>(16, 0.75f, true);
+    private File dir;
+    private long storedBytes;
+    private boolean loaded;
+
+    /** One cached response. */
+    static class Entry {
+        String url;
+        int status;
+        List<Map<String, String>> headers;
+        String etag;
+        String lastModified;
+        long size;
+        long storedAt;
+    }
+
+    private AssetCache() {
+    }
+
+    /**
+     * Returns the shared cache handler, or null when the cache is disabled.
+     */
+    static AssetCache create() {
+        if (!ConfigReader.isAssetCacheEnabled()) return null;
+        INSTANCE.load();
+        return INSTANCE;
+    }
+
+    @Override
+    public List<Map<String, Object>> patterns() {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String type : ConfigReader.getAssetCacheTypes()) {
+            patterns.add(Map.of("urlPattern", "*", "resourceType", type, "requestStage", "Request"));
+            patterns.add(Map.of("urlPattern", "*", "resourceType", type, "requestStage", "Response"));
+        }
+        return patterns;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean onRequestPaused(DevTools devTools, Map<String, Object> event) {
+        Map<String, Object> request = (Map<String, Object>) event.get("request");
+        if (!"GET".equals(request.get("method"))) return false;
+        if (!ConfigReader.getAssetCacheTypes().contains(String.valueOf(event.get("resourceType")))) return false;
+
+        String url = (String) request.get("url");
+        if (event.containsKey("responseStatusCode")) {
+            record(devTools, event, url);
+            return false;
+        }
+        return serve(devTools, event, url);
+    }
+
+    private boolean serve(DevTools devTools, Map<String, Object> event, String url) {
+        Entry entry;
+        byte[] body;
+        synchronized (this) {
+            entry = index.get(key(url));
+            if (entry == null) {
+                misses.incrementAndGet();
+                return false;
+            }
+            try {
+                body = Files.readAllBytes(bodyFile(key(url)).toPath());
+            } catch (IOException e) {
+                remove(key(url));
+                misses.incrementAndGet();
+                return false;
+            }
+        }
+
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("requestId", event.get("requestId"));
+        params.put("responseCode", entry.status);
+        params.put("responseHeaders", entry.headers);
+        params.put("body", Base64.getEncoder().encodeToString(body));
+        devTools.send(new Command<>("Fetch.fulfillRequest", params));
+        hits.incrementAndGet();
+        bytesSaved.addAndGet(body.length);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void record(DevTools devTools, Map<String, Object> event, String url) {
+        if (((Number) event.get("responseStatusCode")).intValue() != 200) return;
+
+        List<Map<String, String>> headers = new ArrayList<>();
+        String etag = null;
+        String lastModified = null;
+        Object rawHeaders = event.get("responseHeaders");
+        if (rawHeaders != null) {
+            for (Map<String, Object> header : (List<Map<String, Object>>) rawHeaders) {
+                String name = String.valueOf(header.get("name"));
+                String value = String.valueOf(header.get("value"));
+                String lower = name.toLowerCase(Locale.ROOT);
+                if (lower.equals("set-cookie") || (lower.equals("cache-control") && value.contains("no-store"))) {
+                    return;
+                }
+                if (lower.equals("etag")) etag = value;
+                if (lower.equals("last-modified")) lastModified = value;
+                if (!DROPPED_HEADERS.contains(lower)) headers.add(Map.of("name", name, "value", value));
+            }
+        }
+
+        Map<String, Object> result = devTools.send(new Command<Map<String, Object>>("Fetch.getResponseBody",
+                Map.of("requestId", event.get("requestId")), Map.class));
+        String encoded = String.valueOf(result.get("body"));
+        byte[] body = Boolean.TRUE.equals(result.get("base64Encoded")) ? Base64.getDecoder().decode(encoded)
+                : encoded.getBytes(StandardCharsets.UTF_8);
+
+        Entry entry = new Entry();
+        entry.url = url;
+        entry.status = 200;
+        entry.headers = headers;
+        entry.etag = etag;
+        entry.lastModified = lastModified;
+        entry.size = body.length;
+        entry.storedAt = System.currentTimeMillis();
+        store(entry, body);
+    }
+
+    private synchronized void store(Entry entry, byte[] body) {
+        String key = key(entry.url);
+        if (index.containsKey(key)) return;
+        try {
+            Files.write(bodyFile(key).toPath(), body);
+        } catch (IOException e) {
+            logger.debug("[DEBUG] Unable to store asset " + entry.url + ": " + e.getMessage());
+            return;
+        }
+        index.put(key, entry);
+        storedBytes += entry.size;
+        recorded.incrementAndGet();
+        evictToLimit();
+    }
+
+    /**
+     * Drops least-recently-used entries until the store fits
+     * asset.cache.max.mb.
+     */
+    private void evictToLimit() {
+        long maxBytes = ConfigReader.getAssetCacheMaxMb() * 1024L * 1024L;
+        Iterator<Map.Entry<String, Entry>> eldest = index.entrySet().iterator();
+        while (storedBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Entry> entry = eldest.next();
+            eldest.remove();
+            storedBytes -= entry.getValue().size;
+            bodyFile(entry.getKey()).delete();
+            evicted.incrementAndGet();
+        }
+    }
+
+    private void remove(String key) {
+        Entry entry = index.remove(key);
+        if (entry != null) storedBytes -= entry.size;
+        bodyFile(key).delete();
+    }
+
+    private synchronized void load() {
+        if (loaded) return;
+        loaded = true;
+        dir = new File(ConfigReader.getAssetCacheDir());
+        dir.mkdirs();
+
+        File indexFile = new File(dir, "index.json");
+        if (!indexFile.isFile()) return;
+        try (Reader reader = new FileReader(indexFile)) {
+            Map<String, Entry> saved = new Gson().fromJson(reader, new TypeToken<LinkedHashMap<String, Entry>>() {
+            }.getType());
+            long maxAgeMillis = TimeUnit.HOURS.toMillis(ConfigReader.getAssetCacheMaxAge());
+            if (saved == null) return;
+            for (Map.Entry<String, Entry> entry : saved.entrySet()) {
+                boolean fresh = System.currentTimeMillis() - entry.getValue().storedAt < maxAgeMillis;
+                if (fresh && bodyFile(entry.getKey()).isFile()) {
+                    index.put(entry.getKey(), entry.getValue());
+                    storedBytes += entry.getValue().size;
+                } else {
+                    bodyFile(entry.getKey()).delete();
+                }
+            }
+            logger.info("[INFO] Asset cache loaded: " + index.size() + " entries, " + storedBytes / 1024 + " KB.");
+        } catch (Exception e) {
+            logger.warn("[WARNING] Unable to read asset cache index, starting empty: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the index and reports this run's hit/miss ratio and bytes
+     * saved. Call at suite end, before the report is flushed.
+     */
+    public static void shutdown() {
+        INSTANCE.persistAndReport();
+    }
+
+    private synchronized void persistAndReport() {
+        if (!loaded) return;
+
+        File tmp = new File(dir, "index.json.tmp");
+        try (Writer writer = new FileWriter(tmp)) {
+            new Gson().toJson(index, writer);
+        } catch (IOException e) {
+            logger.warn("[WARNING] Unable to write asset cache index: " + e.getMessage());
+        }
+        try {
+            Files.move(tmp.toPath(), new File(dir, "index.json").toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("[WARNING] Unable to write asset cache index: " + e.getMessage());
+        }
+
+        String summary = getSummary();
+        logger.info("[INFO] Asset cache: " + summary);
+        ExtentReports extent = ExtentManager.getInstance();
+        if (extent != null) {
+            extent.setSystemInfo("Asset Cache", summary);
+        }
+    }
+
+    public static String getSummary() {
+        AssetCache cache = INSTANCE;
+        int lookups = cache.hits.get() + cache.misses.get();
+        long ratio = lookups == 0 ? 0 : Math.round(cache.hits.get() * 100.0 / lookups);
+        return "hits=" + cache.hits.get() + ", misses=" + cache.misses.get() + " (" + ratio + "% hit ratio), recorded="
+                + cache.recorded.get() + ", evicted=" + cache.evicted.get() + ", ~" + cache.bytesSaved.get() / 1024
+                + " KB saved, store=" + cache.storedBytes / 1024 + " KB";
+    }
+
+    private File bodyFile(String key) {
+        return new File(dir, key + ".body");
+    }
+
+    private static String key(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) hex.append(String.format("%02x", b));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/BrowserBootstrapListener.java */
+
+package com.opencart.utilities;
+
+import org.apache.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlSuite;
+
+/**
+ * Starts the browsers a suite needs before any configuration method runs.
+ *
+ * TestNG calls onStart ahead of @BeforeSuite, so browser launches proceed in
+ * the background while BaseTest.beforeSuite initializes Log4j and Extent, and
+ * while Allure sets itself up. Test classes then lease sessions from the
+ * BrowserPool as they become ready. Per-browser launch latency and the time
+ * to the first ready session are included in the pool metrics written at
+ * suite end. Only active when pool.enabled=true.
+ */
+public class BrowserBootstrapListener implements ISuiteListener {
+
+    private static final Logger logger = Logger.getLogger(BrowserBootstrapListener.class);
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!ConfigReader.isPoolEnabled()) return;
+
+        int sessions = requiredSessions(suite.getXmlSuite());
+        logger.info("[INFO] Suite '" + suite.getName() + "' bootstrapping " + sessions + " browser session(s).");
+        BrowserPool.bootstrap(sessions);
+    }
+
+    /**
+     * One browser per worker thread when the suite runs in parallel, never
+     * fewer than pool.prewarm and never more than pool.size.
+     */
+    private int requiredSessions(XmlSuite xmlSuite) {
+        int workers = xmlSuite.getParallel() != null && xmlSuite.getParallel().isParallel()
+                ? xmlSuite.getThreadCount() : 1;
+        return Math.min(ConfigReader.getPoolSize(), Math.max(workers, ConfigReader.getPoolPrewarm()));
+    }
+}
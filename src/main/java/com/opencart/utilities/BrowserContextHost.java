@@ -0,0 +1,135 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/BrowserContextHost.java */
+
+package com.opencart.utilities;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+
+/**
+ * Multiplexes sessions as isolated browser contexts inside one shared Chrome
+ * process, instead of one Chrome per session.
+ *
+ * The host Chrome is launched once. Each session then gets its own browser
+ * context (Target.createBrowserContext, which has its own cookie jar, storage
+ * and cache) with one page in it. It is driven by a lightweight ChromeDriver
+ * attached to the host through its debuggerAddress and switched to that page.
+ * Quitting a session disposes its context. Only the host owns a renderer
+ * stack, so each extra worker costs one driver process and one renderer
+ * instead of a full browser.
+ *
+ * Attached drivers can see other workers' pages in getWindowHandles(), so
+ * tests that hunt for "the other window" must filter by their own handles.
+ * Enabled with context.multiplexing=true (Chrome only).
+ */
+public class BrowserContextHost {
+
+    private static final Logger logger = Logger.getLogger(BrowserContextHost.class);
+
+    private static final Map<WebDriver, String> contexts = new ConcurrentHashMap<>();
+
+    private static ChromeDriver host;
+    private static DevTools browserConnection;
+    private static String debuggerAddress;
+
+    public static boolean isEnabled() {
+        return ConfigReader.isContextMultiplexingEnabled();
+    }
+
+    /**
+     * Opens a new isolated context in the shared Chrome, launching the host on
+     * first use with the given options, and returns a driver attached to it.
+     */
+    static WebDriver openContext(ChromeOptions hostOptions, PageLoadStrategy strategy) {
+        String contextId;
+        String targetId;
+        String address;
+        synchronized (BrowserContextHost.class) {
+            if (host == null) {
+                launchHost(hostOptions);
+            }
+            contextId = (String) send("Target.createBrowserContext", Map.of("disposeOnDetach", false))
+                    .get("browserContextId");
+            targetId = (String) send("Target.createTarget",
+                    Map.of("url", "about:blank", "browserContextId", contextId)).get("targetId");
+            address = debuggerAddress;
+        }
+
+        ChromeOptions attachOptions = new ChromeOptions();
+        attachOptions.setExperimentalOption("debuggerAddress", address);
+        attachOptions.setPageLoadStrategy(strategy);
+        try {
+            WebDriver driver = new ChromeDriver(attachOptions);
+            driver.switchTo().window(targetId);
+            contexts.put(driver, contextId);
+            logger.info("[INFO] Browser context " + contextId + " opened in shared Chrome (" + contexts.size()
+                    + " active).");
+            return driver;
+        } catch (RuntimeException e) {
+            dispose(contextId);
+            throw e;
+        }
+    }
+
+    /**
+     * Disposes the context of an attached driver that has quit, closing its
+     * pages and discarding its cookies and storage.
+     */
+    static void release(WebDriver driver) {
+        String contextId = driver == null ? null : contexts.remove(driver);
+        if (contextId != null) dispose(contextId);
+    }
+
+    /**
+     * Quits the shared Chrome. Called at suite end and from the JVM shutdown
+     * hook.
+     */
+    public static synchronized void shutdown() {
+        if (host == null) return;
+        try {
+            host.quit();
+            logger.info("[INFO] Shared Chrome for browser contexts closed.");
+        } catch (Exception e) {
+            logger.warn("[WARNING] Unable to close shared Chrome: " + e.getMessage());
+        } finally {
+            host = null;
+            browserConnection = null;
+            contexts.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void launchHost(ChromeOptions options) {
+        long start = System.currentTimeMillis();
+        host = new ChromeDriver(options);
+        Map<String, Object> chromeCaps = (Map<String, Object>) host.getCapabilities().getCapability("goog:chromeOptions");
+        debuggerAddress = (String) chromeCaps.get("debuggerAddress");
+
+        // Without an attached page session, commands go to the browser target,
+        // which is where Target.createBrowserContext lives
+        browserConnection = host.getDevTools();
+        logger.info("[INFO] Shared Chrome for browser contexts launched in " + (System.currentTimeMillis() - start)
+                + " ms at " + debuggerAddress);
+    }
+
+    private static synchronized void dispose(String contextId) {
+        if (host == null) return;
+        try {
+            send("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+        } catch (Exception e) {
+            logger.debug("[DEBUG] Unable to dispose browser context " + contextId + ": " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> send(String method, Map<String, Object> params) {
+        Map<String, Object> result = browserConnection.send(new Command<Map<String, Object>>(method, params, Map.class));
+        return result == null ? Map.of() : result;
+    }
+}
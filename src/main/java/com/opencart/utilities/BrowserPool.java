@@ -0,0 +1,374 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/BrowserPool.java */
+
+package com.opencart.utilities;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import com.google.gson.GsonBuilder;
+
+/**
+ * Bounded pool of pre-launched, pre-navigated browsers.
+ *
+ * Test classes lease a browser in setup and return it in teardown. A returned
+ * browser is reset (cookies and web storage cleared, back on the base URL)
+ * instead of being relaunched. Idle browsers are closed after
+ * pool.idle.timeout seconds; a browser whose lease exceeded pool.max.lease
+ * seconds is retired on return.
+ */
+public class BrowserPool {
+
+    private static final Logger logger = Logger.getLogger(BrowserPool.class);
+    private static BrowserPool instance;
+
+    private final String browserName;
+    private final int maxSize;
+    private final long leaseTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long maxLeaseMillis;
+
+    private final BlockingDeque<PooledBrowser> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledBrowser> leased = new ConcurrentHashMap<>();
+    private final Semaphore capacity;
+    private final ScheduledExecutorService evictor;
+    private final ExecutorService bootstrapExecutor;
+
+    // Wait-for-lease metrics
+    private final List<Long> leaseWaits = Collections.synchronizedList(new ArrayList<>());
+    private int launched;
+    private volatile int retired;
+    private volatile int leaseTimeouts;
+
+    // Bootstrap metrics
+    private final List<Long> launchLatencies = Collections.synchronizedList(new ArrayList<>());
+    private volatile long bootstrapStartedAt;
+    private volatile long firstReadyMillis = -1;
+    // Guarded by this; set by shutdown() before it drains the idle deque
+    private boolean shutdown;
+
+    private static class PooledBrowser {
+        final DriverSession session;
+        final WebDriver driver;
+        final long launchedAt = System.currentTimeMillis();
+        long idleSince = System.currentTimeMillis();
+        long leasedAt;
+
+        PooledBrowser(DriverSession session) {
+            this.session = session;
+            this.driver = session.getDriver();
+        }
+    }
+
+    private BrowserPool(String browserName) {
+        this.browserName = browserName;
+        this.maxSize = Math.max(1, ConfigReader.getPoolSize());
+        this.leaseTimeoutMillis = TimeUnit.SECONDS.toMillis(ConfigReader.getPoolLeaseTimeout());
+        this.idleTimeoutMillis = TimeUnit.SECONDS.toMillis(ConfigReader.getPoolIdleTimeout());
+        this.maxLeaseMillis = TimeUnit.SECONDS.toMillis(ConfigReader.getPoolMaxLease());
+        this.capacity = new Semaphore(maxSize);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "browser-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.scheduleAtFixedRate(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+
+        AtomicInteger launcherId = new AtomicInteger();
+        this.bootstrapExecutor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "browser-bootstrap-" + launcherId.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        logger.info("[INFO] Browser pool created: browser=" + browserName + ", size=" + maxSize);
+    }
+
+    public static synchronized BrowserPool getInstance() {
+        if (instance == null) {
+            instance = new BrowserPool(ConfigReader.getBrowser());
+            instance.prewarm(ConfigReader.getPoolPrewarm());
+        }
+        return instance;
+    }
+
+    /**
+     * Creates the pool at suite start and begins launching {@code sessions}
+     * browsers concurrently. Returns immediately so that report and logging
+     * initialization overlap with browser startup.
+     */
+    public static synchronized BrowserPool bootstrap(int sessions) {
+        if (instance == null) {
+            instance = new BrowserPool(ConfigReader.getBrowser());
+        }
+        instance.prewarm(sessions);
+        return instance;
+    }
+
+    /**
+     * Shuts the pool down if it was ever started. Safe to call when pooling is
+     * disabled.
+     */
+    public static synchronized void shutdownIfStarted() {
+        if (instance != null) {
+            instance.shutdown();
+            instance = null;
+        }
+    }
+
+    /**
+     * Starts up to {@code count} browser launches in parallel. Each browser is
+     * added to the idle queue as soon as it is ready, so a waiting lease()
+     * gets the first one that finishes rather than waiting for all of them.
+     */
+    public void prewarm(int count) {
+        if (bootstrapStartedAt == 0) bootstrapStartedAt = System.currentTimeMillis();
+        int started = 0;
+        for (int i = 0; i < count && capacity.tryAcquire(); i++) {
+            bootstrapExecutor.submit(this::launchIntoPool);
+            started++;
+        }
+        if (started > 0) {
+            logger.info("[INFO] Bootstrapping " + started + " browser(s) concurrently.");
+        }
+    }
+
+    private void launchIntoPool() {
+        try {
+            PooledBrowser browser = new PooledBrowser(launch());
+            synchronized (this) {
+                if (shutdown) {
+                    retire(browser, "pool already shut down");
+                    return;
+                }
+                if (firstReadyMillis < 0) {
+                    firstReadyMillis = System.currentTimeMillis() - bootstrapStartedAt;
+                    logger.info("[INFO] First pooled browser ready " + firstReadyMillis + " ms after bootstrap.");
+                }
+                idle.offerLast(browser);
+            }
+        } catch (RuntimeException e) {
+            capacity.release();
+            logger.warn("[WARNING] Pool bootstrap launch failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Leases a browser and registers it as the caller's WebDriverFactory
+     * session. Blocks up to pool.lease.timeout seconds when the pool is
+     * exhausted.
+     */
+    public WebDriver lease() {
+        long start = System.currentTimeMillis();
+        long deadline = start + leaseTimeoutMillis;
+        PooledBrowser browser = null;
+
+        try {
+            while (browser == null) {
+                browser = idle.pollFirst();
+                if (browser != null && isIdleExpired(browser)) {
+                    retire(browser, "idle timeout");
+                    browser = null;
+                    continue;
+                }
+                if (browser == null && capacity.tryAcquire()) {
+                    try {
+                        browser = new PooledBrowser(launch());
+                    } catch (RuntimeException e) {
+                        capacity.release();
+                        throw e;
+                    }
+                }
+                if (browser == null) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        leaseTimeouts++;
+                        throw new RuntimeException("[FAILED] No pooled browser available within "
+                                + leaseTimeoutMillis / 1000 + "s (pool size " + maxSize + ")");
+                    }
+                    browser = idle.pollFirst(Math.min(remaining, 1000), TimeUnit.MILLISECONDS);
+                    if (browser != null && isIdleExpired(browser)) {
+                        retire(browser, "idle timeout");
+                        browser = null;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("[FAILED] Interrupted while waiting for a pooled browser", e);
+        }
+
+        long waited = System.currentTimeMillis() - start;
+        leaseWaits.add(waited);
+        browser.leasedAt = System.currentTimeMillis();
+        leased.put(browser.driver, browser);
+        WebDriverFactory.registerSession(browser.session);
+        logger.info("[INFO] Browser leased after " + waited + " ms (" + leased.size() + " leased, " + idle.size()
+                + " idle).");
+        return browser.driver;
+    }
+
+    /**
+     * Returns a leased browser to the pool after resetting its state.
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) return;
+        WebDriverFactory.unregisterSession();
+        PooledBrowser browser = leased.remove(driver);
+        if (browser == null) {
+            logger.warn("[WARNING] Released driver was not leased from this pool; quitting it.");
+            driver.quit();
+            return;
+        }
+
+        long leaseAge = System.currentTimeMillis() - browser.leasedAt;
+        if (leaseAge > maxLeaseMillis) {
+            logger.warn("[WARNING] Lease held for " + leaseAge / 1000 + "s exceeds pool.max.lease.");
+            retire(browser, "max lease age");
+            return;
+        }
+
+        try {
+            WebDriverFactory.resetSessionState(driver);
+            browser.idleSince = System.currentTimeMillis();
+            synchronized (this) {
+                if (shutdown) {
+                    retire(browser, "pool already shut down");
+                    return;
+                }
+                idle.offerFirst(browser);
+            }
+            logger.info("[INFO] Browser returned to pool (" + idle.size() + " idle).");
+        } catch (Exception e) {
+            logger.warn("[WARNING] Browser reset failed, retiring it: " + e.getMessage());
+            retire(browser, "reset failure");
+        }
+    }
+
+    private DriverSession launch() {
+        long start = System.currentTimeMillis();
+        DriverSession session = WebDriverFactory.openSession(browserName);
+        long latency = System.currentTimeMillis() - start;
+        launchLatencies.add(latency);
+        synchronized (this) {
+            launched++;
+        }
+        logger.info("[INFO] Browser launched in " + latency + " ms on " + Thread.currentThread().getName());
+        return session;
+    }
+
+    private boolean isIdleExpired(PooledBrowser browser) {
+        return System.currentTimeMillis() - browser.idleSince > idleTimeoutMillis;
+    }
+
+    private void evictIdle() {
+        for (PooledBrowser browser : new ArrayList<>(idle)) {
+            if (isIdleExpired(browser) && idle.remove(browser)) {
+                retire(browser, "idle timeout");
+            }
+        }
+    }
+
+    private void retire(PooledBrowser browser, String reason) {
+        // A leased browser is still registered; quitAllDrivers must not quit it again
+        WebDriverFactory.unregisterSession(browser.session);
+        try {
+            browser.session.quit();
+        } catch (Exception e) {
+            logger.debug("[DEBUG] Quit failed while retiring browser: " + e.getMessage());
+        } finally {
+            capacity.release();
+            retired++;
+            logger.info("[INFO] Pooled browser retired (" + reason + ") after "
+                    + (System.currentTimeMillis() - browser.launchedAt) / 1000 + "s in service.");
+        }
+    }
+
+    public synchronized void shutdown() {
+        shutdown = true;
+        evictor.shutdownNow();
+        bootstrapExecutor.shutdownNow();
+        PooledBrowser browser;
+        while ((browser = idle.pollFirst()) != null) {
+            retire(browser, "shutdown");
+        }
+        for (PooledBrowser leasedBrowser : new ArrayList<>(leased.values())) {
+            leased.remove(leasedBrowser.driver);
+            retire(leasedBrowser, "shutdown");
+        }
+        if (!leaseWaits.isEmpty() || launched > 0) {
+            logger.info("[INFO] Browser pool metrics: " + getMetrics());
+            exportMetrics();
+            leaseWaits.clear();
+            launchLatencies.clear();
+            launched = 0;
+        }
+    }
+
+    /**
+     * Wait-for-lease metrics used to size the pool for a CI agent.
+     */
+    public Map<String, Object> getMetrics() {
+        List<Long> waits;
+        synchronized (leaseWaits) {
+            waits = new ArrayList<>(leaseWaits);
+        }
+        Collections.sort(waits);
+        long total = 0;
+        for (long w : waits) total += w;
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("poolSize", maxSize);
+        metrics.put("browsersLaunched", launched);
+        metrics.put("browsersRetired", retired);
+        metrics.put("leases", waits.size());
+        metrics.put("leaseTimeouts", leaseTimeouts);
+        metrics.put("leaseWaitAvgMs", waits.isEmpty() ? 0 : total / waits.size());
+        metrics.put("leaseWaitP50Ms", percentile(waits, 50));
+        metrics.put("leaseWaitP95Ms", percentile(waits, 95));
+        metrics.put("leaseWaitMaxMs", waits.isEmpty() ? 0 : waits.get(waits.size() - 1));
+        synchronized (launchLatencies) {
+            metrics.put("launchLatenciesMs", new ArrayList<>(launchLatencies));
+        }
+        metrics.put("timeToFirstReadyMs", firstReadyMillis);
+        return metrics;
+    }
+
+    private static long percentile(List<Long> sorted, int pct) {
+        if (sorted.isEmpty()) return 0;
+        int index = (int) Math.ceil(pct / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    private void exportMetrics() {
+        String reportDir = System.getProperty("user.dir") + File.separator + "reports";
+        new File(reportDir).mkdirs();
+        File out = new File(reportDir, "browser-pool-metrics.json");
+        try (Writer writer = new FileWriter(out)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(getMetrics(), writer);
+            logger.info("[INFO] Browser pool metrics written to: " + out.getPath());
+        } catch (IOException e) {
+            logger.warn("[WARNING] Unable to write browser pool metrics: " + e.getMessage());
+        }
+    }
+}
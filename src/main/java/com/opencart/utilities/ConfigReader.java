@@ -4,9 +4,14 @@ package com.opencart.utilities;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
 import org.apache.log4j.Logger;
+import org.openqa.selenium.PageLoadStrategy;
 
 /**
  * ConfigReader loads and provides access to configuration properties.
@@ -40,6 +45,11 @@ public class ConfigReader {
         return Boolean.parseBoolean(getProperty(key));
     }
 
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = prop.getProperty(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
     public static int getInt(String key, int defaultValue) {
         try {
             return Integer.parseInt(prop.getProperty(key, String.valueOf(defaultValue)));
@@ -49,6 +59,16 @@ public class ConfigReader {
         }
     }
 
+    /**
+     * Comma-separated list property; empty when the key is missing.
+     */
+    public static List<String> getList(String key) {
+        String value = prop.getProperty(key);
+        if (value == null || value.trim().isEmpty()) return Collections.emptyList();
+        return Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+                .collect(Collectors.toList());
+    }
+
     // ------------------------------------------------
     // Specific Getters
     // ------------------------------------------------
@@ -60,6 +80,24 @@ public class ConfigReader {
     public static String getAdminPassword() { return getProperty("admin.password"); }
     public static int getImplicitWait() { return getInt("implicit.wait", 10); }
     public static int getExplicitWait() { return getInt("explicit.wait", 20); }
+    public static int getNetworkIdleQuietMillis() { return getInt("network.idle.quiet.ms", 500); }
+    /** poll (AdaptiveWait) | push (DOM mutation observer, see PushWait). */
+    public static boolean isPushWaitEnabled() {
+        return "push".equalsIgnoreCase(prop.getProperty("wait.mode", "poll").trim());
+    }
+    /** Adaptive polling: first interval, and the cap the backoff doubles up to (see AdaptiveWait). */
+    public static int getWaitPollMinMillis() { return getInt("wait.poll.min.ms", 50); }
+    public static int getWaitPollMaxMillis() { return getInt("wait.poll.max.ms", 1000); }
+    // Per-locator timeouts learned from earlier runs (see LearnedTimeouts)
+    public static boolean isWaitLearningEnabled() { return getBoolean("wait.learning.enabled", false); }
+    public static String getWaitLearningFile() {
+        return prop.getProperty("wait.learning.file",
+                System.getProperty("user.home") + "/.cache/opencart-hybrid/wait-history.properties").trim();
+    }
+    public static int getWaitLearningPercentile() { return getInt("wait.learning.percentile", 95); }
+    public static int getWaitLearningMarginMillis() { return getInt("wait.learning.margin.ms", 1000); }
+    public static int getWaitLearningMinSeconds() { return getInt("wait.learning.min.seconds", 2); }
+    public static int getWaitLearningMaxSeconds() { return getInt("wait.learning.max.seconds", 60); }
     public static int getPageLoadTimeout() { return getInt("page.load.timeout", 30); }
     public static int getShortTimeout() { return getInt("short.timeout", 5); }
     public static int getMediumTimeout() { return getInt("medium.timeout", 10); }
@@ -71,6 +109,82 @@ public class ConfigReader {
     public static String getLogPath() { return prop.getProperty("log.path", "./logs/"); }
     public static String getReportPath() { return prop.getProperty("report.path", "./test-output/"); }
 
+    public static String getDriverCachePath() {
+        return prop.getProperty("driver.cache.path",
+                System.getProperty("user.home") + "/.cache/opencart-hybrid/driver-resolution.properties").trim();
+    }
+
+    public static String getBrowserProfile() { return prop.getProperty("browser.profile", "default").trim(); }
+    public static PageLoadStrategy getPageLoadStrategy() {
+        String value = prop.getProperty("page.load.strategy", "normal").trim().toLowerCase();
+        PageLoadStrategy strategy = PageLoadStrategy.fromString(value);
+        if (strategy == null) {
+            logger.warn("[WARNING] Invalid page.load.strategy: " + value + " - using normal");
+            return PageLoadStrategy.NORMAL;
+        }
+        return strategy;
+    }
+
+    /** class (a browser per test class) | suite (one browser per thread, reset between classes). */
+    public static boolean isSuiteScopedDriver() {
+        return "suite".equalsIgnoreCase(prop.getProperty("driver.scope", "class").trim());
+    }
+
+    // Pre-seeded Chrome profile template
+    public static boolean isProfileTemplateEnabled() { return getBoolean("profile.template.enabled", false); }
+    public static int getProfileTemplateMaxAge() { return getInt("profile.template.max.age", 24); }
+    public static String getProfileTemplateDir() {
+        return prop.getProperty("profile.template.dir",
+                System.getProperty("user.home") + "/.cache/opencart-hybrid/chrome-profile-template").trim();
+    }
+
+    // DevTools request blocking
+    public static boolean isNetworkBlockEnabled() { return getBoolean("network.block.enabled", false); }
+    public static List<String> getNetworkBlockList() { return getList("network.block.list"); }
+    public static List<String> getNetworkAllowList() { return getList("network.allow.list"); }
+
+    // Record/replay static asset cache
+    public static boolean isAssetCacheEnabled() { return getBoolean("asset.cache.enabled", false); }
+    public static int getAssetCacheMaxMb() { return getInt("asset.cache.max.mb", 200); }
+    public static int getAssetCacheMaxAge() { return getInt("asset.cache.max.age", 168); }
+    public static List<String> getAssetCacheTypes() {
+        List<String> types = getList("asset.cache.types");
+        return types.isEmpty() ? List.of("Stylesheet", "Script", "Image", "Font") : types;
+    }
+    public static String getAssetCacheDir() {
+        return prop.getProperty("asset.cache.dir",
+                System.getProperty("user.home") + "/.cache/opencart-hybrid/asset-cache").trim();
+    }
+
+    // Session watchdog
+    public static boolean isWatchdogEnabled() { return getBoolean("watchdog.enabled", true); }
+    public static int getWatchdogProbeTimeout() { return getInt("watchdog.probe.timeout", 5); }
+
+    // Orphaned driver/browser process reaper
+    public static boolean isProcessReaperEnabled() { return getBoolean("process.reaper.enabled", true); }
+    public static String getProcessRegistryDir() {
+        return prop.getProperty("process.registry.dir",
+                System.getProperty("user.home") + "/.cache/opencart-hybrid/process-registry").trim();
+    }
+
+    public static List<String> getRemoteNodes() { return getList("remote.nodes"); }
+    public static boolean isContextMultiplexingEnabled() { return getBoolean("context.multiplexing", false); }
+
+    public static boolean isLiteRoutingEnabled() { return getBoolean("lite.routing", false); }
+
+    // Session recycling (0 disables a rule)
+    public static int getRecycleAfterTests() { return getInt("recycle.after.tests", 0); }
+    public static int getRecycleMaxAge() { return getInt("recycle.max.age", 0); }
+    public static int getRecycleMaxHeapMb() { return getInt("recycle.max.heap.mb", 0); }
+
+    // Browser pool
+    public static boolean isPoolEnabled() { return getBoolean("pool.enabled", false); }
+    public static int getPoolSize() { return getInt("pool.size", 2); }
+    public static int getPoolPrewarm() { return getInt("pool.prewarm", 1); }
+    public static int getPoolLeaseTimeout() { return getInt("pool.lease.timeout", 120); }
+    public static int getPoolIdleTimeout() { return getInt("pool.idle.timeout", 300); }
+    public static int getPoolMaxLease() { return getInt("pool.max.lease", 1800); }
+
     /**
      * Returns the page title based on the page name.
      * Example: pageTitle.logout=Account Logout
@@ -0,0 +1,218 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/DriverBinaryResolver.java */
+
+package com.opencart.utilities;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.log4j.Logger;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.config.Config;
+import io.github.bonigarcia.wdm.versions.VersionDetector;
+
+/**
+ * Resolves driver binaries (chromedriver, geckodriver, msedgedriver) at most
+ * once per JVM and remembers the browser-version to driver-path mapping in a
+ * local cache file.
+ *
+ * On later runs the cached path is reused without any network access as long
+ * as the installed browser version is unchanged, which also makes the
+ * framework usable on air-gapped agents once the cache has been seeded.
+ */
+public class DriverBinaryResolver {
+
+    private static final Logger logger = Logger.getLogger(DriverBinaryResolver.class);
+
+    private static final Map<String, String> resolvedThisJvm = new ConcurrentHashMap<>();
+    // Browsers whose resolution failed; later launches go straight to Selenium Manager
+    private static final Set<String> failedThisJvm = ConcurrentHashMap.newKeySet();
+    // One lock per browser, so a download for one browser does not hold up the others
+    private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+    private static final Properties cache = new Properties();
+    private static final File cacheFile = new File(ConfigReader.getDriverCachePath());
+
+    // Guarded by DriverBinaryResolver.class
+    private static int networkResolutions;
+    private static int cacheHits;
+    private static int jvmHits;
+    private static long savedMillis;
+
+    static {
+        if (cacheFile.isFile()) {
+            try (InputStream in = new FileInputStream(cacheFile)) {
+                cache.load(in);
+                logger.info("[INFO] Driver resolution cache loaded from: " + cacheFile.getPath());
+            } catch (IOException e) {
+                logger.warn("[WARNING] Unable to read driver resolution cache: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Makes the driver binary for the given browser available to Selenium by
+     * setting the matching webdriver.*.driver system property. Workers
+     * resolving the same browser wait for each other; different browsers
+     * resolve in parallel.
+     */
+    public static void resolve(String browserName) {
+        String browser = browserName.toLowerCase();
+        synchronized (locks.computeIfAbsent(browser, b -> new Object())) {
+            resolveLocked(browser);
+        }
+    }
+
+    private static void resolveLocked(String browser) {
+        long lastResolveMillis = Long.parseLong(cache.getProperty(browser + ".resolve.ms", "0"));
+
+        String knownPath = resolvedThisJvm.get(browser);
+        if (knownPath != null) {
+            System.setProperty(driverProperty(browser), knownPath);
+            synchronized (DriverBinaryResolver.class) {
+                jvmHits++;
+                savedMillis += lastResolveMillis;
+            }
+            return;
+        }
+        if (failedThisJvm.contains(browser)) {
+            logger.debug("[DEBUG] Driver resolution for " + browser
+                    + " already failed in this JVM, using Selenium Manager.");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        String browserVersion = detectBrowserVersion(browser);
+        String key = browser + "." + browserVersion;
+        String cachedPath = cache.getProperty(key + ".path");
+
+        if (cachedPath != null && new File(cachedPath).canExecute()) {
+            System.setProperty(driverProperty(browser), cachedPath);
+            resolvedThisJvm.put(browser, cachedPath);
+            long lookupMillis = System.currentTimeMillis() - start;
+            synchronized (DriverBinaryResolver.class) {
+                cacheHits++;
+                savedMillis += Math.max(0, lastResolveMillis - lookupMillis);
+            }
+            logger.info("[INFO] Driver for " + browser + " " + browserVersion + " reused from cache: " + cachedPath);
+            return;
+        }
+
+        WebDriverManager manager = manager(browser);
+        try {
+            manager.setup();
+        } catch (Exception e) {
+            // Leave resolution to Selenium Manager / PATH, e.g. on an agent without network
+            failedThisJvm.add(browser);
+            logger.warn("[WARNING] Driver resolution for " + browser + " failed, falling back to Selenium Manager: "
+                    + e.getMessage());
+            return;
+        }
+        long resolveMillis = System.currentTimeMillis() - start;
+        synchronized (DriverBinaryResolver.class) {
+            networkResolutions++;
+        }
+
+        String driverPath = manager.getDownloadedDriverPath();
+        if (driverPath == null) {
+            failedThisJvm.add(browser);
+            return;
+        }
+
+        resolvedThisJvm.put(browser, driverPath);
+        cache.setProperty(key + ".path", driverPath);
+        cache.setProperty(key + ".driver.version", String.valueOf(manager.getDownloadedDriverVersion()));
+        cache.setProperty(browser + ".resolve.ms", String.valueOf(resolveMillis));
+        persist();
+        logger.info("[INFO] Driver for " + browser + " " + browserVersion + " resolved in " + resolveMillis + " ms: "
+                + driverPath);
+    }
+
+    /**
+     * One-line summary of how much driver resolution work was avoided.
+     */
+    public static synchronized String getSummary() {
+        return "network resolutions=" + networkResolutions + ", cache hits=" + cacheHits + ", in-JVM reuses="
+                + jvmHits + ", estimated startup time saved=" + savedMillis + " ms";
+    }
+
+    public static void logSummary() {
+        logger.info("[INFO] Driver resolution: " + getSummary());
+    }
+
+    private static WebDriverManager manager(String browser) {
+        switch (browser) {
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            default:
+                return WebDriverManager.chromedriver();
+        }
+    }
+
+    private static String driverProperty(String browser) {
+        switch (browser) {
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            default:
+                return "webdriver.chrome.driver";
+        }
+    }
+
+    /**
+     * Detects the installed browser version locally with WebDriverManager's
+     * per-OS commands (--version on Linux and macOS, the registry or file
+     * metadata on Windows, where chrome.exe --version opens a window instead).
+     * Falls back to the browser binary's path and timestamp, which still
+     * change on every upgrade.
+     */
+    private static String detectBrowserVersion(String browser) {
+        try {
+            // Local commands only: the lookup must not need the network
+            Config config = new Config().setCommandsPropertiesOnlineFirst(false);
+            Optional<String> version = new VersionDetector(config, null).getBrowserVersionFromTheShell(browser);
+            if (version.isPresent() && !version.get().isEmpty()) return version.get();
+        } catch (Exception e) {
+            logger.debug("[DEBUG] Unable to detect " + browser + " version: " + e.getMessage());
+        }
+
+        Optional<Path> browserPath;
+        try {
+            browserPath = manager(browser).getBrowserPath();
+        } catch (Exception e) {
+            browserPath = Optional.empty();
+        }
+        if (!browserPath.isPresent()) return "unknown";
+        File binary = browserPath.get().toFile();
+        return Integer.toHexString((binary.getAbsolutePath() + binary.lastModified()).hashCode());
+    }
+
+    private static synchronized void persist() {
+        try {
+            File dir = cacheFile.getAbsoluteFile().getParentFile();
+            dir.mkdirs();
+            File tmp = File.createTempFile("driver-resolution", ".tmp", dir);
+            try (OutputStream out = new FileOutputStream(tmp)) {
+                cache.store(out, "Browser version -> driver path mapping");
+            }
+            Files.move(tmp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("[WARNING] Unable to write driver resolution cache: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,317 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/DriverSession.java */
+
+package com.opencart.utilities;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+/**
+ * A browser session owned by WebDriverFactory.
+ *
+ * Tests and page objects only ever see {@link #getDriver()}, a proxy that
+ * forwards every call to the browser currently backing the session. This lets
+ * the factory replace the underlying browser between tests (recycling) without
+ * invalidating the driver references held by BaseTest and the page objects.
+ */
+public class DriverSession {
+
+    private static final Logger logger = Logger.getLogger(DriverSession.class);
+
+    private final String browserName;
+    private final String profile;
+    private final PageLoadStrategy pageLoadStrategy;
+    private final WebDriver proxy;
+    private volatile WebDriver target;
+    private volatile WebDriver liteTarget;
+    private volatile boolean routedToLite;
+
+    private volatile long startedAt;
+    private volatile int testCount;
+    private volatile int recycleCount;
+
+    private volatile long deadSince;
+    private volatile String deathCause;
+    private volatile boolean idle;
+
+    DriverSession(String browserName, String profile, PageLoadStrategy pageLoadStrategy, WebDriver target) {
+        this.browserName = browserName;
+        this.profile = profile;
+        this.pageLoadStrategy = pageLoadStrategy;
+        this.target = target;
+        this.startedAt = System.currentTimeMillis();
+        this.proxy = (WebDriver) Proxy.newProxyInstance(WebDriverFactory.class.getClassLoader(),
+                interfacesOf(target.getClass()), new Forwarder());
+    }
+
+    /** Driver handed out to tests; stays valid across recycles. */
+    public WebDriver getDriver() {
+        return proxy;
+    }
+
+    /** The real driver currently backing this session. */
+    public WebDriver getTarget() {
+        return routedToLite ? liteTarget : target;
+    }
+
+    /** Per-phase launch timing of the browser currently backing this session. */
+    public DriverStartupTiming getStartupTiming() {
+        return DriverStartupTiming.of(getTarget());
+    }
+
+    public boolean isRoutedToLite() {
+        return routedToLite;
+    }
+
+    /**
+     * Sends subsequent commands to this session's lite (HtmlUnit) browser,
+     * launching it on first use. The lite browser keeps its own cookies and
+     * page state between DOM-only tests.
+     */
+    void routeToLite() {
+        if (liteTarget == null) {
+            liteTarget = WebDriverFactory.launchDriver("lite");
+        }
+        routedToLite = true;
+    }
+
+    void routeToBrowser() {
+        routedToLite = false;
+    }
+
+    public String getBrowserName() {
+        return browserName;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public PageLoadStrategy getPageLoadStrategy() {
+        return pageLoadStrategy;
+    }
+
+    public int getTestCount() {
+        return testCount;
+    }
+
+    public int getRecycleCount() {
+        return recycleCount;
+    }
+
+    public long getAgeMillis() {
+        return System.currentTimeMillis() - startedAt;
+    }
+
+    public boolean isDead() {
+        return deadSince > 0;
+    }
+
+    /** Marks the session as kept between test classes (driver.scope=suite). */
+    void markIdle() {
+        idle = true;
+    }
+
+    /** True once after markIdle(), when the next class picks the session up. */
+    boolean takeIdle() {
+        boolean wasIdle = idle;
+        idle = false;
+        return wasIdle;
+    }
+
+    /**
+     * Called between tests. Replaces a dead browser, recycles a live one when
+     * the recycling policy says so, then counts the upcoming test against the
+     * (possibly new) browser.
+     */
+    void beforeTest(String nextTest) {
+        if (SessionWatchdog.isEnabled()) {
+            if (!isDead() && !SessionWatchdog.probe(target)) {
+                markDead("liveness probe failed");
+            }
+            if (isDead()) {
+                replaceDeadBrowser(nextTest);
+            }
+        }
+
+        String reason = recycleReason();
+        if (reason != null) {
+            recycle(reason);
+        }
+        testCount++;
+    }
+
+    private String recycleReason() {
+        int maxTests = ConfigReader.getRecycleAfterTests();
+        if (maxTests > 0 && testCount >= maxTests) {
+            return "test count " + testCount + " reached recycle.after.tests=" + maxTests;
+        }
+
+        int maxAge = ConfigReader.getRecycleMaxAge();
+        if (maxAge > 0 && getAgeMillis() >= maxAge * 1000L) {
+            return "session age " + getAgeMillis() / 1000 + "s reached recycle.max.age=" + maxAge + "s";
+        }
+
+        int maxHeapMb = ConfigReader.getRecycleMaxHeapMb();
+        if (maxHeapMb > 0) {
+            long heapMb = sampleJsHeapMb();
+            if (heapMb >= maxHeapMb) {
+                return "renderer JS heap " + heapMb + " MB reached recycle.max.heap.mb=" + maxHeapMb;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the renderer's used JS heap through the DevTools Performance
+     * domain. Returns -1 for browsers without CDP support.
+     */
+    @SuppressWarnings("unchecked")
+    long sampleJsHeapMb() {
+        if (!(target instanceof HasCdp)) return -1;
+        try {
+            HasCdp cdp = (HasCdp) target;
+            cdp.executeCdpCommand("Performance.enable", Map.of());
+            Map<String, Object> result = cdp.executeCdpCommand("Performance.getMetrics", Map.of());
+            for (Object entry : (Iterable<Object>) result.get("metrics")) {
+                Map<String, Object> metric = (Map<String, Object>) entry;
+                if ("JSHeapUsedSize".equals(metric.get("name"))) {
+                    return ((Number) metric.get("value")).longValue() / (1024 * 1024);
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("[DEBUG] Unable to sample JS heap: " + e.getMessage());
+        }
+        return -1;
+    }
+
+    /**
+     * Replaces the backing browser with a freshly launched one. Only ever
+     * called between tests.
+     */
+    synchronized void recycle(String reason) {
+        WebDriver old = target;
+        long start = System.currentTimeMillis();
+        target = WebDriverFactory.launchDriver(browserName, profile, pageLoadStrategy);
+        startedAt = System.currentTimeMillis();
+        testCount = 0;
+        recycleCount++;
+        try {
+            old.quit();
+        } catch (Exception e) {
+            logger.debug("[DEBUG] Quit of recycled browser failed: " + e.getMessage());
+        } finally {
+            WebDriverFactory.afterQuit(old);
+        }
+        logger.info("[INFO] Session recycled (" + reason + ") in " + (System.currentTimeMillis() - start) + " ms.");
+    }
+
+    private void markDead(String cause) {
+        if (deadSince == 0) {
+            deathCause = cause;
+            deadSince = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Swaps in a fresh browser for a dead one. The lost time runs from the
+     * first failing command to the replacement being ready.
+     */
+    private void replaceDeadBrowser(String nextTest) {
+        routedToLite = false;
+        recycle("dead session: " + deathCause);
+        long lostMillis = System.currentTimeMillis() - deadSince;
+        SessionWatchdog.recordCrash(browserName, nextTest, deathCause, lostMillis);
+        deadSince = 0;
+        deathCause = null;
+    }
+
+    /**
+     * Quits the lite browser, if any, and the real one. Each gets its
+     * afterQuit cleanup, and a failing lite quit still quits the real browser.
+     */
+    void quit() {
+        routedToLite = false;
+        WebDriver lite = liteTarget;
+        liteTarget = null;
+        try {
+            if (lite != null) {
+                try {
+                    lite.quit();
+                } finally {
+                    WebDriverFactory.afterQuit(lite);
+                }
+            }
+        } finally {
+            try {
+                target.quit();
+            } finally {
+                WebDriverFactory.afterQuit(target);
+            }
+        }
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) return "";
+        int end = message.indexOf('\n');
+        return end < 0 ? message : message.substring(0, end);
+    }
+
+    private static Class<?>[] interfacesOf(Class<?> type) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            collect(c, interfaces);
+        }
+        return interfaces.toArray(new Class<?>[0]);
+    }
+
+    private static void collect(Class<?> type, Set<Class<?>> into) {
+        for (Class<?> i : type.getInterfaces()) {
+            if (into.add(i)) collect(i, into);
+        }
+    }
+
+    private class Forwarder implements InvocationHandler {
+        @Override
+        public Object invoke(Object self, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    if (method.getParameterCount() == 1) return self == args[0];
+                    break;
+                case "hashCode":
+                    if (method.getParameterCount() == 0) return System.identityHashCode(self);
+                    break;
+                case "toString":
+                    if (method.getParameterCount() == 0) return "DriverSession(" + target + ")";
+                    break;
+                default:
+                    break;
+            }
+
+            WebDriver current = routedToLite ? liteTarget : target;
+            if (!method.getDeclaringClass().isInstance(current)) {
+                throw new UnsupportedCommandException(method.getDeclaringClass().getSimpleName()
+                        + " is not supported by " + current.getClass().getSimpleName());
+            }
+            try {
+                return method.invoke(current, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (current == target && !"quit".equals(method.getName()) && SessionWatchdog.isSessionDead(cause)) {
+                    markDead(cause.getClass().getSimpleName() + ": " + firstLine(cause.getMessage()));
+                }
+                throw cause;
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/DriverStartupTiming.java */
+
+package com.opencart.utilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import com.aventstack.extentreports.ExtentReports;
+
+/**
+ * Per-phase timing of one browser launch in WebDriverFactory.launchDriver:
+ * driver resolution, driver process launch, session negotiation, DevTools
+ * setup, deleteAllCookies, maximize, timeouts and the initial get.
+ *
+ * A record is kept for every launch, including recycles and lite browsers.
+ * Listeners can read the record of a session's current browser through
+ * DriverSession.getStartupTiming(), or all records through getAll().
+ * AllureTestListener attaches each record to the first test run on that
+ * browser. At suite end the records are printed as a summary table and added
+ * to the Extent system info.
+ */
+public class DriverStartupTiming {
+
+    private static final Logger logger = Logger.getLogger(DriverStartupTiming.class);
+
+    private static final List<DriverStartupTiming> all = Collections.synchronizedList(new ArrayList<>());
+    private static final Map<WebDriver, DriverStartupTiming> byDriver = new ConcurrentHashMap<>();
+    private static final AtomicInteger sequence = new AtomicInteger();
+    private static final List<Long> resets = Collections.synchronizedList(new ArrayList<>());
+
+    @FunctionalInterface
+    interface Step<T> {
+        T call() throws Exception;
+    }
+
+    @FunctionalInterface
+    interface VoidStep {
+        void run() throws Exception;
+    }
+
+    private final String label;
+    private final String thread;
+    private final long startedAt;
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private final AtomicBoolean attached = new AtomicBoolean();
+
+    DriverStartupTiming(String browserName) {
+        this.label = browserName + " #" + sequence.incrementAndGet();
+        this.thread = Thread.currentThread().getName();
+        this.startedAt = System.currentTimeMillis();
+    }
+
+    <T> T measure(String phase, Step<T> step) throws Exception {
+        long start = System.currentTimeMillis();
+        try {
+            return step.call();
+        } finally {
+            record(phase, System.currentTimeMillis() - start);
+        }
+    }
+
+    void run(String phase, VoidStep step) throws Exception {
+        long start = System.currentTimeMillis();
+        try {
+            step.run();
+        } finally {
+            record(phase, System.currentTimeMillis() - start);
+        }
+    }
+
+    private synchronized void record(String phase, long millis) {
+        phases.merge(phase, millis, Long::sum);
+    }
+
+    /**
+     * Publishes a completed launch record for the given browser.
+     */
+    void complete(WebDriver driver) {
+        all.add(this);
+        byDriver.put(driver, this);
+        logger.info("[INFO] Startup of " + label + ": " + this);
+    }
+
+    /**
+     * Records one between-class reset of a kept session (driver.scope=suite),
+     * so the summary can set reset cost against launch cost.
+     */
+    static void recordReset(long millis) {
+        resets.add(millis);
+    }
+
+    static DriverStartupTiming of(WebDriver driver) {
+        return driver == null ? null : byDriver.get(driver);
+    }
+
+    static void forget(WebDriver driver) {
+        if (driver != null) byDriver.remove(driver);
+    }
+
+    public static List<DriverStartupTiming> getAll() {
+        synchronized (all) {
+            return new ArrayList<>(all);
+        }
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public synchronized Map<String, Long> getPhases() {
+        return new LinkedHashMap<>(phases);
+    }
+
+    public synchronized long getTotalMillis() {
+        long total = 0;
+        for (long millis : phases.values()) total += millis;
+        return total;
+    }
+
+    /**
+     * True the first time it is called, so a record is attached to a report
+     * only once.
+     */
+    public boolean markAttached() {
+        return attached.compareAndSet(false, true);
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            text.append(phase.getKey()).append('=').append(phase.getValue()).append(" ms, ");
+        }
+        return text.append("total=").append(getTotalMillis()).append(" ms (").append(thread).append(')').toString();
+    }
+
+    /**
+     * One row per launch, one column per phase.
+     */
+    private static String[][] table(List<DriverStartupTiming> timings) {
+        Set<String> columns = new LinkedHashSet<>();
+        for (DriverStartupTiming timing : timings) columns.addAll(timing.getPhases().keySet());
+
+        String[][] rows = new String[timings.size() + 1][columns.size() + 2];
+        rows[0][0] = "Browser";
+        int c = 1;
+        for (String column : columns) rows[0][c++] = column;
+        rows[0][c] = "total";
+
+        for (int r = 0; r < timings.size(); r++) {
+            DriverStartupTiming timing = timings.get(r);
+            Map<String, Long> phases = timing.getPhases();
+            rows[r + 1][0] = timing.label;
+            c = 1;
+            for (String column : columns) {
+                Long millis = phases.get(column);
+                rows[r + 1][c++] = millis == null ? "-" : String.valueOf(millis);
+            }
+            rows[r + 1][c] = String.valueOf(timing.getTotalMillis());
+        }
+        return rows;
+    }
+
+    /**
+     * Prints the suite's startup summary table and adds it to the Extent
+     * report. Call before the report is flushed.
+     */
+    public static void publishSummary() {
+        List<DriverStartupTiming> timings = getAll();
+        if (timings.isEmpty()) return;
+        ExtentReports extent = ExtentManager.getInstance();
+
+        String[][] rows = table(timings);
+        StringBuilder text = new StringBuilder("[INFO] Driver startup timings (ms):\n");
+        for (String[] row : rows) {
+            text.append(String.format("%-14s", row[0]));
+            for (int c = 1; c < row.length; c++) {
+                text.append(String.format(" %" + Math.max(8, rows[0][c].length()) + "s", row[c]));
+            }
+            text.append('\n');
+        }
+        logger.info(text.toString().trim());
+
+        if (extent != null) {
+            for (DriverStartupTiming timing : timings) {
+                extent.setSystemInfo("Startup (" + timing.label + ")", timing.toString());
+            }
+        }
+
+        List<Long> resetSnapshot;
+        synchronized (resets) {
+            resetSnapshot = new ArrayList<>(resets);
+        }
+        if (resetSnapshot.isEmpty()) return;
+        long launchTotal = 0;
+        for (DriverStartupTiming timing : timings) launchTotal += timing.getTotalMillis();
+        long resetTotal = 0;
+        for (long millis : resetSnapshot) resetTotal += millis;
+        String comparison = resetSnapshot.size() + " between-class reset(s), avg " + resetTotal / resetSnapshot.size()
+                + " ms vs avg launch " + launchTotal / timings.size() + " ms";
+        logger.info("[INFO] Session reuse: " + comparison);
+        if (extent != null) {
+            extent.setSystemInfo("Session Reuse", comparison);
+        }
+    }
+}
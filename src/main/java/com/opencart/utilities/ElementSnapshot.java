@@ -0,0 +1,187 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/ElementSnapshot.java */
+
+package com.opencart.utilities;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Reads the visible text of many locators in one in-page evaluation.
+ *
+ * Meant for checks where most locators are normally absent, such as form
+ * validation errors. Waiting for each of them would cost a full explicit
+ * wait per missing element. Locators that match nothing, are hidden or have
+ * no text are simply left out of the result. Compound locators (ByChained,
+ * ByAll), which cannot be evaluated in the page, are read with one scoped
+ * findElements each (see ImplicitWaitScope).
+ */
+public class ElementSnapshot {
+
+    private static final Logger logger = Logger.getLogger(ElementSnapshot.class);
+
+    /** find(using, value): first element for a W3C locator strategy, or null. */
+    static final String FIND_FUNCTION = ""
+            + "function find(using, value) {"
+            + "  switch (using) {"
+            + "    case 'css selector': return document.querySelector(value);"
+            + "    case 'id': return document.getElementById(value);"
+            + "    case 'name': return document.getElementsByName(value)[0] || null;"
+            + "    case 'class name': return document.getElementsByClassName(value)[0] || null;"
+            + "    case 'tag name': return document.getElementsByTagName(value)[0] || null;"
+            + "    case 'xpath': return document.evaluate(value, document, null,"
+            + "        XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "    default:"
+            + "      var links = document.getElementsByTagName('a');"
+            + "      for (var i = 0; i < links.length; i++) {"
+            + "        var t = links[i].textContent.trim();"
+            + "        if (using === 'link text' ? t === value : t.indexOf(value) >= 0) return links[i];"
+            + "      }"
+            + "      return null;"
+            + "  }"
+            + "}";
+
+    /** visible(el): rendered, not visibility:hidden and not fully transparent. */
+    static final String VISIBLE_FUNCTION = ""
+            + "function visible(el) {"
+            + "  var style = window.getComputedStyle(el);"
+            + "  return el.getClientRects().length > 0 && style.visibility !== 'hidden' && style.opacity !== '0';"
+            + "}";
+
+    /** firstVisible(specs): the first key whose locator matches a visible element, or null. */
+    static final String FIRST_VISIBLE_FUNCTION = FIND_FUNCTION + VISIBLE_FUNCTION
+            + "function firstVisible(specs) {"
+            + "  for (var key in specs) {"
+            + "    var el = find(specs[key][0], specs[key][1]);"
+            + "    if (el && visible(el)) return key;"
+            + "  }"
+            + "  return null;"
+            + "}";
+
+    private static final String FIRST_VISIBLE_SCRIPT = FIRST_VISIBLE_FUNCTION + "return firstVisible(arguments[0]);";
+
+    private static final String TEXTS_SCRIPT = FIND_FUNCTION + VISIBLE_FUNCTION
+            + "var specs = arguments[0], texts = {};"
+            + "for (var key in specs) {"
+            + "  var el = find(specs[key][0], specs[key][1]);"
+            + "  if (!el || !visible(el)) continue;"
+            + "  var text = (el.innerText || el.textContent || '').trim();"
+            + "  if (text) texts[key] = text;"
+            + "}"
+            + "return texts;";
+
+    private ElementSnapshot() {
+    }
+
+    /**
+     * Visible, non-empty text per key, in the order of {@code locators}.
+     */
+    public static Map<String, String> visibleTexts(WebDriver driver, Map<String, By> locators) {
+        Map<String, List<String>> specs = new LinkedHashMap<>();
+        Map<String, By> compound = new LinkedHashMap<>();
+        for (Map.Entry<String, By> entry : locators.entrySet()) {
+            String[] remote = toScriptLocator(entry.getValue());
+            if (remote == null) {
+                compound.put(entry.getKey(), entry.getValue());
+            } else {
+                specs.put(entry.getKey(), List.of(remote[0], remote[1]));
+            }
+        }
+
+        Map<String, Object> found = new LinkedHashMap<>();
+        if (!specs.isEmpty()) {
+            Object result = ((JavascriptExecutor) driver).executeScript(TEXTS_SCRIPT, specs);
+            if (result instanceof Map) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) result).entrySet()) {
+                    found.put(String.valueOf(entry.getKey()), entry.getValue());
+                }
+            }
+        }
+        if (!compound.isEmpty()) {
+            try (ImplicitWaitScope scope = ImplicitWaitScope.suspend(driver)) {
+                for (Map.Entry<String, By> entry : compound.entrySet()) {
+                    List<WebElement> elements = driver.findElements(entry.getValue());
+                    if (!elements.isEmpty() && elements.get(0).isDisplayed()) {
+                        String text = elements.get(0).getText().trim();
+                        if (!text.isEmpty()) found.put(entry.getKey(), text);
+                    }
+                }
+            }
+        }
+
+        Map<String, String> texts = new LinkedHashMap<>();
+        for (String key : locators.keySet()) {
+            Object text = found.get(key);
+            if (text != null) texts.put(key, String.valueOf(text));
+        }
+        logger.debug("[DEBUG] Snapshot of " + locators.size() + " locator(s): " + texts.size() + " with text.");
+        return texts;
+    }
+
+    /**
+     * The first key, in the order of {@code locators}, whose locator matches a
+     * visible element, or null if none does yet. In-page locators are checked
+     * in one script round trip; compound ones after it, with one scoped
+     * findElements each.
+     */
+    public static String firstVisible(WebDriver driver, Map<String, By> locators) {
+        Map<String, List<String>> specs = scriptLocators(locators);
+        if (!specs.isEmpty()) {
+            Object result = ((JavascriptExecutor) driver).executeScript(FIRST_VISIBLE_SCRIPT, specs);
+            if (result instanceof String) return (String) result;
+        }
+        if (specs.size() == locators.size()) return null;
+        try (ImplicitWaitScope scope = ImplicitWaitScope.suspend(driver)) {
+            for (Map.Entry<String, By> entry : locators.entrySet()) {
+                if (specs.containsKey(entry.getKey())) continue;
+                List<WebElement> elements = driver.findElements(entry.getValue());
+                if (!elements.isEmpty() && elements.get(0).isDisplayed()) return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Strategy and value per key for the locators that can be evaluated in
+     * the page; compound ones are left out.
+     */
+    static Map<String, List<String>> scriptLocators(Map<String, By> locators) {
+        Map<String, List<String>> specs = new LinkedHashMap<>();
+        for (Map.Entry<String, By> entry : locators.entrySet()) {
+            String[] remote = toScriptLocator(entry.getValue());
+            if (remote != null) specs.put(entry.getKey(), List.of(remote[0], remote[1]));
+        }
+        return specs;
+    }
+
+    /**
+     * The W3C locator strategy and value for a By that can be evaluated in
+     * the page, or null for compound locators (ByChained, ByAll) and custom
+     * ones.
+     */
+    static String[] toScriptLocator(By locator) {
+        if (!(locator instanceof By.Remotable)) return null;
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String using = parameters.using();
+        if (!(parameters.value() instanceof String)) return null;
+        switch (using) {
+            case "css selector":
+            case "id":
+            case "name":
+            case "class name":
+            case "tag name":
+            case "xpath":
+            case "link text":
+            case "partial link text":
+                return new String[] { using, (String) parameters.value() };
+            default:
+                return null;
+        }
+    }
+}
@@ -106,6 +106,10 @@ public class ExtentTestManager {
 
 	/** Optional: capture step screenshots (not only failures). */
 	public static void logStepWithScreenshot(String message, WebDriver driver) {
+		if (!ScreenshotUtils.supportsScreenshots(driver)) {
+			logInfo(message);
+			return;
+		}
 		try {
 			String base64Screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
 			getTest().info(message, MediaEntityBuilder.createScreenCaptureFromBase64String(base64Screenshot).build());
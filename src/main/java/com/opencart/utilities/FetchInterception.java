@@ -0,0 +1,115 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/FetchInterception.java */
+
+package com.opencart.utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.JsonInput;
+
+/**
+ * Single owner of the DevTools Fetch domain for a Chromium browser.
+ *
+ * Fetch.enable replaces any previous set of patterns, and every paused
+ * request must be answered exactly once. So the network features
+ * (NetworkBlocker, AssetCache) register as handlers here instead of talking
+ * to Fetch themselves. Handlers are asked in order. The first one that
+ * answers a paused request wins. Requests nobody answers are continued
+ * unchanged.
+ */
+final class FetchInterception {
+
+    private static final Logger logger = Logger.getLogger(FetchInterception.class);
+
+    interface Handler {
+
+        /** Fetch.RequestPattern entries this handler wants paused. */
+        List<Map<String, Object>> patterns();
+
+        /** Hook for extra DevTools listeners, called before Fetch is enabled. */
+        default void attach(DevTools devTools) {
+        }
+
+        /**
+         * Returns true after continuing, fulfilling or failing the paused
+         * request. Response-stage events carry a responseStatusCode.
+         */
+        boolean onRequestPaused(DevTools devTools, Map<String, Object> event);
+    }
+
+    private FetchInterception() {
+    }
+
+    /**
+     * Installs the enabled handlers on a newly launched browser. No-op for
+     * non-Chromium browsers or when no handler is enabled.
+     */
+    static void install(String browserName, WebDriver driver) {
+        if (!(driver instanceof ChromiumDriver)) return;
+
+        List<Handler> handlers = new ArrayList<>();
+        Handler blocker = NetworkBlocker.create(browserName, driver);
+        if (blocker != null) handlers.add(blocker);
+        Handler cache = AssetCache.create();
+        if (cache != null) handlers.add(cache);
+        if (handlers.isEmpty()) return;
+
+        try {
+            DevTools devTools = ((ChromiumDriver) driver).getDevTools();
+            // Attach to this driver's own tab: multiplexed contexts share one host browser
+            devTools.createSessionIfThereIsNotOne(driver.getWindowHandle());
+
+            List<Map<String, Object>> patterns = new ArrayList<>();
+            for (Handler handler : handlers) {
+                handler.attach(devTools);
+                patterns.addAll(handler.patterns());
+            }
+            devTools.addListener(new Event<>("Fetch.requestPaused", FetchInterception::readMap),
+                    event -> dispatch(devTools, handlers, event));
+            devTools.send(new Command<>("Fetch.enable", Map.of("patterns", patterns)));
+        } catch (Exception e) {
+            logger.warn("[WARNING] Unable to enable DevTools request interception: " + e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> readMap(JsonInput input) {
+        return (Map<String, Object>) input.read(Map.class);
+    }
+
+    /**
+     * Offers the paused request to each handler in turn. If none of them
+     * continued, fulfilled or failed it, or one of them threw, the request is
+     * continued here so the page never hangs on it.
+     */
+    private static void dispatch(DevTools devTools, List<Handler> handlers, Map<String, Object> event) {
+        String requestId = (String) event.get("requestId");
+        boolean handled = false;
+        try {
+            for (Handler handler : handlers) {
+                if (handler.onRequestPaused(devTools, event)) {
+                    handled = true;
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("[WARNING] Interception handler failed for paused request " + requestId + ": "
+                    + e.getMessage());
+        } finally {
+            if (!handled) {
+                try {
+                    devTools.send(new Command<>("Fetch.continueRequest", Map.of("requestId", requestId)));
+                } catch (Exception e) {
+                    logger.warn("[WARNING] Unable to continue paused request " + requestId + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/ImplicitWaitScope.java */
+
+package com.opencart.utilities;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import com.aventstack.extentreports.ExtentReports;
+
+/**
+ * Suspends a driver's implicit wait for the duration of a try-with-resources
+ * block, so presence and absence checks answer in one findElements round
+ * trip instead of waiting out implicit.wait when nothing matches.
+ *
+ * Scopes nest: only the outermost one sets the implicit wait to zero and,
+ * when it closes, restores the configured implicit.wait (the value
+ * WebDriverFactory sets at launch). The depth is tracked per driver, so
+ * threads with their own browsers never interfere. Threads sharing one
+ * browser share its depth, and the browser keeps a zero implicit wait until
+ * the last of their scopes closes, because the setting belongs to the
+ * session. Every negative check records the implicit wait it did not sit
+ * through. The total is logged and added to the Extent system info at suite
+ * end.
+ *
+ * <pre>
+ * try (ImplicitWaitScope scope = ImplicitWaitScope.suspend(driver)) {
+ *     return scope.isPresent(locator);
+ * }
+ * </pre>
+ */
+public final class ImplicitWaitScope implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(ImplicitWaitScope.class);
+
+    private static final Map<WebDriver, AtomicInteger> depths = new WeakHashMap<>();
+    private static final AtomicInteger checks = new AtomicInteger();
+    private static final AtomicInteger negativeChecks = new AtomicInteger();
+    private static final AtomicLong savedMillis = new AtomicLong();
+
+    private final WebDriver driver;
+    private final AtomicInteger depth;
+    private boolean closed;
+
+    private ImplicitWaitScope(WebDriver driver, AtomicInteger depth) {
+        this.driver = driver;
+        this.depth = depth;
+    }
+
+    /**
+     * Opens a scope in which {@code driver} has no implicit wait.
+     */
+    public static ImplicitWaitScope suspend(WebDriver driver) {
+        AtomicInteger depth;
+        synchronized (depths) {
+            depth = depths.computeIfAbsent(driver, d -> new AtomicInteger());
+        }
+        synchronized (depth) {
+            if (depth.getAndIncrement() == 0) {
+                setImplicitWait(driver, Duration.ZERO);
+            }
+        }
+        return new ImplicitWaitScope(driver, depth);
+    }
+
+    /**
+     * True if at least one element matches, without waiting for one to
+     * appear.
+     */
+    public boolean isPresent(By locator) {
+        long start = System.currentTimeMillis();
+        boolean present = !driver.findElements(locator).isEmpty();
+        record(present, System.currentTimeMillis() - start);
+        return present;
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        synchronized (depth) {
+            if (depth.decrementAndGet() == 0) {
+                setImplicitWait(driver, Duration.ofSeconds(ConfigReader.getImplicitWait()));
+            }
+        }
+    }
+
+    private static void setImplicitWait(WebDriver driver, Duration wait) {
+        try {
+            driver.manage().timeouts().implicitlyWait(wait);
+        } catch (Exception e) {
+            // A dead session is replaced before the next test anyway
+            logger.debug("[DEBUG] Unable to set implicit wait to " + wait.toMillis() + " ms: " + e.getMessage());
+        }
+    }
+
+    private static void record(boolean found, long elapsedMillis) {
+        checks.incrementAndGet();
+        if (!found) {
+            negativeChecks.incrementAndGet();
+            savedMillis.addAndGet(Math.max(0, ConfigReader.getImplicitWait() * 1000L - elapsedMillis));
+        }
+    }
+
+    /**
+     * Logs how much implicit waiting the scoped checks avoided and adds it to
+     * the Extent report. Call before the report is flushed.
+     */
+    public static void publishToReport() {
+        if (checks.get() == 0) return;
+        String summary = checks.get() + " scoped check(s), " + negativeChecks.get() + " negative, ~"
+                + savedMillis.get() / 1000 + " s of implicit wait saved";
+        logger.info("[INFO] Implicit wait scope: " + summary);
+        ExtentReports extent = ExtentManager.getInstance();
+        if (extent != null) {
+            extent.setSystemInfo("Scoped Element Checks", summary);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/LaunchProfile.java */
+
+package com.opencart.utilities;
+
+import java.util.Map;
+
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+/**
+ * Named browser launch profiles, selected with browser.profile in
+ * config.properties.
+ *
+ * "default" launches the browser as a user would see it. "lean" switches off
+ * work the tests never look at: image decoding, web fonts, extensions,
+ * background networking, component updates, sync, first-run UI and smooth
+ * scrolling. GPU compositing is only disabled in headless mode, where there
+ * is no screen to composite to.
+ */
+public final class LaunchProfile {
+
+    public static final String DEFAULT = "default";
+    public static final String LEAN = "lean";
+
+    private LaunchProfile() {
+    }
+
+    public static boolean isLean(String profile) {
+        return LEAN.equalsIgnoreCase(profile);
+    }
+
+    /**
+     * Chrome and Edge share the Chromium switches.
+     */
+    public static void apply(String profile, ChromiumOptions<?> options, boolean headless) {
+        if (!isLean(profile)) return;
+
+        options.addArguments(
+                "--blink-settings=imagesEnabled=false",
+                "--disable-remote-fonts",
+                "--disable-extensions",
+                "--disable-background-networking",
+                "--disable-component-update",
+                "--disable-sync",
+                "--disable-default-apps",
+                "--no-first-run",
+                "--no-default-browser-check",
+                "--disable-smooth-scrolling");
+        options.setExperimentalOption("prefs", Map.of(
+                "profile.managed_default_content_settings.images", 2));
+        if (headless) {
+            options.addArguments("--disable-gpu-compositing");
+        }
+    }
+
+    public static void apply(String profile, FirefoxOptions options, boolean headless) {
+        if (!isLean(profile)) return;
+
+        options.addPreference("permissions.default.image", 2);
+        options.addPreference("gfx.downloadable_fonts.enabled", false);
+        options.addPreference("extensions.enabledScopes", 0);
+        options.addPreference("extensions.update.enabled", false);
+        options.addPreference("app.update.auto", false);
+        options.addPreference("network.prefetch-next", false);
+        options.addPreference("network.dns.disablePrefetch", true);
+        options.addPreference("browser.safebrowsing.update.enabled", false);
+        options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+        options.addPreference("services.sync.engine.prefs", false);
+        options.addPreference("identity.fxaccounts.enabled", false);
+        options.addPreference("browser.startup.homepage_override.mstone", "ignore");
+        options.addPreference("browser.aboutwelcome.enabled", false);
+        options.addPreference("browser.shell.checkDefaultBrowser", false);
+        options.addPreference("general.smoothScroll", false);
+        if (headless) {
+            options.addPreference("layers.acceleration.disabled", true);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/LearnedTimeouts.java */
+
+package com.opencart.utilities;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import com.aventstack.extentreports.ExtentReports;
+
+/**
+ * Per-locator timeouts learned from how long waits took in earlier runs.
+ *
+ * Every locator wait in WaitUtils records its duration under the page it
+ * started on (the OpenCart route, or the URL path) and the locator. Waits on
+ * the default timeout that time out are recorded at their timeout, so a
+ * locator that got slower learns a longer budget. The last MAX_SAMPLES
+ * durations per key are kept in wait.learning.file across runs. Once a key
+ * has MIN_SAMPLES, the waits that would use explicit.wait use the
+ * wait.learning.percentile of its durations plus wait.learning.margin.ms
+ * instead, bounded by wait.learning.min.seconds and
+ * wait.learning.max.seconds. At suite end the history is saved and the
+ * locators whose learned timeout moved by at least half (and at least a
+ * second) since the run started are logged and added to the Extent system
+ * info. Enabled with wait.learning.enabled=true.
+ */
+public class LearnedTimeouts {
+
+    private static final Logger logger = Logger.getLogger(LearnedTimeouts.class);
+
+    private static final int MAX_SAMPLES = 50;
+    private static final int MIN_SAMPLES = 5;
+    private static final long MIN_SHIFT_MILLIS = 1000;
+
+    private static final File historyFile = new File(ConfigReader.getWaitLearningFile());
+    private static final Map<String, List<Long>> samples = new ConcurrentHashMap<>();
+    private static final Map<String, Long> learnedAtStart = new ConcurrentHashMap<>();
+
+    private static volatile boolean loaded;
+
+    public static boolean isEnabled() {
+        return ConfigReader.isWaitLearningEnabled();
+    }
+
+    /**
+     * History key for a wait on {@code locator} starting on the current page,
+     * or null when learning is disabled or the page cannot be read. Costs a
+     * getCurrentUrl round trip, so it is skipped unless learning is on.
+     */
+    static String key(WebDriver driver, By locator) {
+        if (!isEnabled()) return null;
+        try {
+            return page(driver.getCurrentUrl()) + " | " + locator;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * The OpenCart route (index.php?route=account/login) or, for other URLs,
+     * the path.
+     */
+    private static String page(String url) {
+        URI uri = URI.create(url);
+        if (uri.getRawQuery() != null) {
+            for (String param : uri.getRawQuery().split("&")) {
+                if (param.startsWith("route=")) return param.substring("route=".length());
+            }
+        }
+        return uri.getPath() == null || uri.getPath().isEmpty() ? "/" : uri.getPath();
+    }
+
+    /**
+     * The learned timeout for {@code key}, or {@code fallback} while there are
+     * too few samples.
+     */
+    static Duration timeoutFor(String key, Duration fallback) {
+        if (key == null) return fallback;
+        load();
+        Long learned = learned(samples.get(key));
+        return learned == null ? fallback : Duration.ofMillis(learned);
+    }
+
+    static void record(String key, long elapsedMillis) {
+        if (key == null) return;
+        load();
+        List<Long> history = samples.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>()));
+        synchronized (history) {
+            history.add(elapsedMillis);
+            if (history.size() > MAX_SAMPLES) history.remove(0);
+        }
+    }
+
+    private static Long learned(List<Long> history) {
+        return learned(history, ConfigReader.getWaitLearningPercentile(), ConfigReader.getWaitLearningMarginMillis(),
+                ConfigReader.getWaitLearningMinSeconds() * 1000L, ConfigReader.getWaitLearningMaxSeconds() * 1000L);
+    }
+
+    /**
+     * The {@code percentile} (nearest rank) of {@code history} plus
+     * {@code marginMillis}, clamped to [minMillis, maxMillis]; null while
+     * there are fewer than MIN_SAMPLES.
+     */
+    static Long learned(List<Long> history, double percentile, long marginMillis, long minMillis, long maxMillis) {
+        if (history == null) return null;
+        List<Long> sorted;
+        synchronized (history) {
+            if (history.size() < MIN_SAMPLES) return null;
+            sorted = new ArrayList<>(history);
+        }
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        long millis = sorted.get(Math.max(0, Math.min(index, sorted.size() - 1))) + marginMillis;
+        return Math.max(minMillis, Math.min(millis, maxMillis));
+    }
+
+    private static synchronized void load() {
+        if (loaded) return;
+        loaded = true;
+        if (!historyFile.isFile()) return;
+        Properties history = new Properties();
+        try (InputStream in = new FileInputStream(historyFile)) {
+            history.load(in);
+        } catch (IOException e) {
+            logger.warn("[WARNING] Unable to read wait history: " + e.getMessage());
+            return;
+        }
+        for (String key : history.stringPropertyNames()) {
+            try {
+                List<Long> durations = Arrays.stream(history.getProperty(key).split(",")).map(String::trim)
+                        .filter(s -> !s.isEmpty()).map(Long::parseLong).collect(Collectors.toList());
+                samples.put(key, Collections.synchronizedList(new ArrayList<>(durations)));
+                Long learned = learned(samples.get(key));
+                if (learned != null) learnedAtStart.put(key, learned);
+            } catch (NumberFormatException e) {
+                logger.debug("[DEBUG] Skipping malformed wait history entry: " + key);
+            }
+        }
+        logger.info("[INFO] Wait history loaded for " + samples.size() + " locator(s) from: " + historyFile.getPath());
+    }
+
+    private static void persist() {
+        Properties history = new Properties();
+        for (Map.Entry<String, List<Long>> entry : samples.entrySet()) {
+            synchronized (entry.getValue()) {
+                history.setProperty(entry.getKey(),
+                        entry.getValue().stream().map(String::valueOf).collect(Collectors.joining(",")));
+            }
+        }
+        try {
+            File dir = historyFile.getAbsoluteFile().getParentFile();
+            dir.mkdirs();
+            File tmp = File.createTempFile("wait-history", ".tmp", dir);
+            try (OutputStream out = new FileOutputStream(tmp)) {
+                history.store(out, "Page | locator -> recent wait durations (ms)");
+            }
+            Files.move(tmp.toPath(), historyFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("[WARNING] Unable to write wait history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the history, then logs the locators whose learned timeout shifted
+     * significantly during this run and adds them to the Extent report. Call
+     * before the report is flushed.
+     */
+    public static void publishToReport() {
+        if (!isEnabled() || samples.isEmpty()) return;
+        persist();
+
+        Map<String, String> shifts = new TreeMap<>();
+        int learnedCount = 0;
+        for (Map.Entry<String, List<Long>> entry : samples.entrySet()) {
+            Long now = learned(entry.getValue());
+            if (now == null) continue;
+            learnedCount++;
+            Long before = learnedAtStart.get(entry.getKey());
+            if (before == null) continue;
+            long shift = Math.abs(now - before);
+            if (shift >= MIN_SHIFT_MILLIS && shift * 2 >= before) {
+                shifts.put(entry.getKey(), String.format("%.1f s -> %.1f s", before / 1000.0, now / 1000.0));
+            }
+        }
+
+        String summary = learnedCount + " locator(s) with a learned timeout, " + shifts.size() + " shifted";
+        logger.info("[INFO] Learned timeouts: " + summary);
+        shifts.forEach((key, shift) -> logger.info("[INFO] Learned timeout shifted for " + key + ": " + shift));
+        ExtentReports extent = ExtentManager.getInstance();
+        if (extent != null) {
+            extent.setSystemInfo("Learned Timeouts", summary);
+            if (!shifts.isEmpty()) {
+                extent.setSystemInfo("Learned Timeout Shifts", shifts.entrySet().stream()
+                        .map(e -> e.getKey() + ": " + e.getValue()).collect(Collectors.joining("; ")));
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/LiteBrowser.java */
+
+package com.opencart.utilities;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test that only reads DOM attributes, text or page source and can
+ * therefore run on the in-JVM "lite" driver instead of a full browser.
+ *
+ * Tests in the "lite" group are routed the same way. Routing is off by
+ * default; a run opts in with lite.routing=true in config.properties or as a
+ * suite/test parameter.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface LiteBrowser {
+
+    /** TestNG group that is routed to the lite driver like the annotation. */
+    String GROUP = "lite";
+}
@@ -0,0 +1,213 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/NetworkBlocker.java */
+
+package com.opencart.utilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+
+import com.aventstack.extentreports.ExtentReports;
+
+/**
+ * Blocks non-essential third-party requests (analytics, web fonts, ad and
+ * social scripts) on Chromium browsers through the DevTools Fetch domain
+ * (see FetchInterception).
+ *
+ * Only URLs matching network.block.list are intercepted. Of those, URLs that
+ * also match network.allow.list are let through. Both lists are
+ * comma-separated DevTools URL patterns ('*' and '?' wildcards).
+ *
+ * Each browser keeps its own counters of blocked requests. Blocked requests
+ * never download, so bytes saved is an estimate: the average encoded size of
+ * the same resource type among requests the browser did load. The counters
+ * are published to the Extent report system info at suite end. Enabled with
+ * network.block.enabled=true.
+ */
+public class NetworkBlocker implements FetchInterception.Handler {
+
+    private static final Logger logger = Logger.getLogger(NetworkBlocker.class);
+
+    private static final Map<WebDriver, NetworkBlocker> active = new ConcurrentHashMap<>();
+    private static final List<NetworkBlocker> closed = Collections.synchronizedList(new ArrayList<>());
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    private final String label;
+    private final List<String> blockList;
+    private final List<Pattern> blockPatterns;
+    private final List<Pattern> allowList;
+    private final AtomicInteger blocked = new AtomicInteger();
+    private final Map<String, AtomicInteger> blockedByType = new ConcurrentHashMap<>();
+    private final Map<String, String> typeByRequestId = new ConcurrentHashMap<>();
+    private final Map<String, long[]> loadedByType = new ConcurrentHashMap<>();
+
+    private NetworkBlocker(String label, List<String> blockList, List<Pattern> allowList) {
+        this.label = label;
+        this.blockList = blockList;
+        this.blockPatterns = blockList.stream().map(NetworkBlocker::toRegex).collect(Collectors.toList());
+        this.allowList = allowList;
+    }
+
+    /**
+     * Creates the blocking handler for a newly launched browser, or null when
+     * blocking is disabled or the block list is empty.
+     */
+    static NetworkBlocker create(String browserName, WebDriver driver) {
+        if (!ConfigReader.isNetworkBlockEnabled()) return null;
+
+        List<String> blockList = ConfigReader.getNetworkBlockList();
+        if (blockList.isEmpty()) return null;
+
+        NetworkBlocker blocker = new NetworkBlocker(browserName + " #" + sequence.incrementAndGet(), blockList,
+                ConfigReader.getNetworkAllowList().stream().map(NetworkBlocker::toRegex).collect(Collectors.toList()));
+        active.put(driver, blocker);
+        logger.info("[INFO] Network blocking active for " + blocker.label + " (" + blockList.size()
+                + " block pattern(s)).");
+        return blocker;
+    }
+
+    /**
+     * Keeps the counters of a browser that has quit for the report.
+     */
+    static void release(WebDriver driver) {
+        NetworkBlocker blocker = driver == null ? null : active.remove(driver);
+        if (blocker != null) closed.add(blocker);
+    }
+
+    /**
+     * Adds one system-info row per browser, plus a total, to the Extent
+     * report. Call before the report is flushed.
+     */
+    public static void publishToReport() {
+        List<NetworkBlocker> all = new ArrayList<>(closed);
+        all.addAll(active.values());
+        if (all.isEmpty()) return;
+
+        ExtentReports extent = ExtentManager.getInstance();
+        int totalBlocked = 0;
+        long totalBytes = 0;
+        for (NetworkBlocker blocker : all) {
+            long bytes = blocker.estimatedBytesSaved();
+            totalBlocked += blocker.blocked.get();
+            totalBytes += bytes;
+            if (extent != null) {
+                extent.setSystemInfo("Blocked Requests (" + blocker.label + ")", describe(blocker.blocked.get(), bytes));
+            }
+        }
+        if (extent != null) {
+            extent.setSystemInfo("Blocked Requests (total)", describe(totalBlocked, totalBytes));
+        }
+        logger.info("[INFO] Network blocking: " + describe(totalBlocked, totalBytes) + " across " + all.size()
+                + " browser(s).");
+    }
+
+    private static String describe(int requests, long bytes) {
+        return requests + " requests, ~" + bytes / 1024 + " KB saved";
+    }
+
+    @Override
+    public List<Map<String, Object>> patterns() {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String url : blockList) {
+            patterns.add(Map.of("urlPattern", url, "requestStage", "Request"));
+        }
+        return patterns;
+    }
+
+    @Override
+    public void attach(DevTools devTools) {
+        devTools.addListener(new Event<>("Network.responseReceived", FetchInterception::readMap),
+                event -> typeByRequestId.put((String) event.get("requestId"), String.valueOf(event.get("type"))));
+
+        devTools.addListener(new Event<>("Network.loadingFinished", FetchInterception::readMap),
+                event -> {
+                    String type = typeByRequestId.remove((String) event.get("requestId"));
+                    if (type == null) return;
+                    long size = ((Number) event.get("encodedDataLength")).longValue();
+                    long[] totals = loadedByType.computeIfAbsent(type, k -> new long[2]);
+                    synchronized (totals) {
+                        totals[0] += size;
+                        totals[1]++;
+                    }
+                });
+        devTools.send(new Command<>("Network.enable", Map.of()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean onRequestPaused(DevTools devTools, Map<String, Object> event) {
+        if (event.containsKey("responseStatusCode")) return false;
+
+        String url = (String) ((Map<String, Object>) event.get("request")).get("url");
+        if (!matchesBlockList(url) || isAllowed(url)) return false;
+
+        devTools.send(new Command<>("Fetch.failRequest",
+                Map.of("requestId", event.get("requestId"), "errorReason", "BlockedByClient")));
+        blocked.incrementAndGet();
+        blockedByType.computeIfAbsent(String.valueOf(event.get("resourceType")), k -> new AtomicInteger())
+                .incrementAndGet();
+        logger.debug("[DEBUG] Blocked: " + url);
+        return true;
+    }
+
+    /**
+     * Fetch patterns of all handlers are merged, so a paused request is not
+     * necessarily one this handler asked for.
+     */
+    private boolean matchesBlockList(String url) {
+        for (Pattern pattern : blockPatterns) {
+            if (pattern.matcher(url).matches()) return true;
+        }
+        return false;
+    }
+
+    private boolean isAllowed(String url) {
+        for (Pattern pattern : allowList) {
+            if (pattern.matcher(url).matches()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Blocked count per resource type times the average loaded size of that
+     * type, falling back to the average over all non-document resources.
+     */
+    private long estimatedBytesSaved() {
+        long allBytes = 0;
+        long allCount = 0;
+        for (Map.Entry<String, long[]> entry : loadedByType.entrySet()) {
+            if ("Document".equals(entry.getKey())) continue;
+            allBytes += entry.getValue()[0];
+            allCount += entry.getValue()[1];
+        }
+        long fallback = allCount == 0 ? 0 : allBytes / allCount;
+
+        long saved = 0;
+        for (Map.Entry<String, AtomicInteger> entry : blockedByType.entrySet()) {
+            long[] totals = loadedByType.get(entry.getKey());
+            long average = totals == null || totals[1] == 0 ? fallback : totals[0] / totals[1];
+            saved += average * entry.getValue().get();
+        }
+        return saved;
+    }
+
+    private static Pattern toRegex(String urlPattern) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : urlPattern.toCharArray()) {
+            if (c == '*') regex.append(".*");
+            else if (c == '?') regex.append('.');
+            else regex.append(Pattern.quote(String.valueOf(c)));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
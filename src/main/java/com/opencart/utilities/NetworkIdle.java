@@ -0,0 +1,175 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/NetworkIdle.java */
+
+package com.opencart.utilities;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+
+/**
+ * Tracks the requests each Chromium browser has in flight, from DevTools
+ * Network events, so WaitUtils.waitForNetworkIdle can return the moment a
+ * page has been quiet for the requested window.
+ *
+ * A request is in flight from Network.requestWillBeSent until
+ * loadingFinished, loadingFailed or requestServedFromMemoryCache. Event
+ * streams, and requests open longer than LONG_POLL_MILLIS, are treated as
+ * long polls and do not keep the page busy. Because the events are pushed,
+ * waiting costs no WebDriver round trips. Browsers without DevTools (Firefox,
+ * lite, remote nodes) fall back to an in-page check: the document is complete
+ * and no new Resource Timing entries appear for the quiet window.
+ *
+ * Tracking starts on a browser's first wait, so sessions that never wait send
+ * no Network.enable and get no Network events. That first wait cannot know
+ * about requests already in flight and uses the in-page check.
+ */
+public class NetworkIdle {
+
+    private static final Logger logger = Logger.getLogger(NetworkIdle.class);
+
+    private static final long LONG_POLL_MILLIS = 10_000;
+    private static final long CHECK_MILLIS = 50;
+
+    private static final Map<DevTools, NetworkIdle> trackers = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, DevTools> connections = new ConcurrentHashMap<>();
+    private static final Set<WebDriver> attempted = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+    private volatile long lastActivity = System.currentTimeMillis();
+
+    private NetworkIdle() {
+    }
+
+    /**
+     * Starts tracking a Chromium browser, once. No-op for other browsers.
+     */
+    private static void install(WebDriver driver) {
+        if (!(driver instanceof ChromiumDriver) || !attempted.add(driver)) return;
+        try {
+            DevTools devTools = ((ChromiumDriver) driver).getDevTools();
+            // Attach to this driver's own tab: multiplexed contexts share one host browser
+            devTools.createSessionIfThereIsNotOne(driver.getWindowHandle());
+            NetworkIdle tracker = new NetworkIdle();
+            devTools.addListener(new Event<>("Network.requestWillBeSent", FetchInterception::readMap), event -> {
+                if (!"EventSource".equals(event.get("type"))) tracker.started((String) event.get("requestId"));
+            });
+            devTools.addListener(new Event<>("Network.loadingFinished", FetchInterception::readMap),
+                    event -> tracker.ended((String) event.get("requestId")));
+            devTools.addListener(new Event<>("Network.loadingFailed", FetchInterception::readMap),
+                    event -> tracker.ended((String) event.get("requestId")));
+            devTools.addListener(new Event<>("Network.requestServedFromMemoryCache", FetchInterception::readMap),
+                    event -> tracker.ended((String) event.get("requestId")));
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            trackers.put(devTools, tracker);
+            connections.put(driver, devTools);
+        } catch (Exception e) {
+            logger.warn("[WARNING] Unable to track network activity via DevTools: " + e.getMessage());
+        }
+    }
+
+    static void release(WebDriver driver) {
+        if (driver == null) return;
+        attempted.remove(driver);
+        DevTools devTools = connections.remove(driver);
+        if (devTools != null) trackers.remove(devTools);
+    }
+
+    private void started(String requestId) {
+        inFlight.put(requestId, System.currentTimeMillis());
+        lastActivity = System.currentTimeMillis();
+    }
+
+    private void ended(String requestId) {
+        if (inFlight.remove(requestId) != null) lastActivity = System.currentTimeMillis();
+    }
+
+    private boolean isQuiet(long quietMillis, long since) {
+        long now = System.currentTimeMillis();
+        inFlight.values().removeIf(startedAt -> now - startedAt > LONG_POLL_MILLIS);
+        return inFlight.isEmpty() && now - Math.max(lastActivity, since) >= quietMillis;
+    }
+
+    /**
+     * Blocks until the browser behind {@code driver} has had no request in
+     * flight for {@code quietMillis}. The window starts no earlier than the
+     * call, so requests an action has not started yet are not missed.
+     * Returns false if that does not happen within {@code timeout}.
+     */
+    static boolean await(WebDriver driver, long quietMillis, Duration timeout) {
+        long since = System.currentTimeMillis();
+        long deadline = since + timeout.toMillis();
+        NetworkIdle tracker = trackerOf(driver);
+        if (tracker == null) {
+            install(backingDriver(driver));
+            return awaitInPage(driver, quietMillis, deadline);
+        }
+
+        while (!tracker.isQuiet(quietMillis, since)) {
+            if (System.currentTimeMillis() >= deadline) return false;
+            WaitUtils.sleep(CHECK_MILLIS);
+        }
+        return true;
+    }
+
+    /**
+     * The tracker of the browser behind a driver or DriverSession proxy, whose
+     * getDevTools() returns the backing browser's cached connection.
+     */
+    private static NetworkIdle trackerOf(WebDriver driver) {
+        if (trackers.isEmpty() || !(driver instanceof HasDevTools)) return null;
+        try {
+            return ((HasDevTools) driver).maybeGetDevTools().map(trackers::get).orElse(null);
+        } catch (Exception e) {
+            // The session is routed to a browser without DevTools
+            return null;
+        }
+    }
+
+    /**
+     * The browser behind the caller's DriverSession proxy, which is not itself
+     * a ChromiumDriver.
+     */
+    private static WebDriver backingDriver(WebDriver driver) {
+        DriverSession session = WebDriverFactory.getSession();
+        return session != null && session.getDriver() == driver ? session.getTarget() : driver;
+    }
+
+    private static boolean awaitInPage(WebDriver driver, long quietMillis, long deadline) {
+        if (!(driver instanceof JavascriptExecutor)) return true;
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        String script = "return document.readyState === 'complete' && window.performance"
+                + " ? performance.getEntriesByType('resource').length : -1;";
+        long lastCount = -2;
+        long quietSince = System.currentTimeMillis();
+        long interval = Math.max(CHECK_MILLIS, quietMillis / 2);
+        while (System.currentTimeMillis() < deadline) {
+            long count;
+            try {
+                Object result = js.executeScript(script);
+                count = result instanceof Number ? ((Number) result).longValue() : -1;
+            } catch (Exception e) {
+                // Mid-navigation; treat as activity
+                count = -1;
+            }
+            long now = System.currentTimeMillis();
+            if (count < 0 || count != lastCount) {
+                lastCount = count;
+                quietSince = now;
+            } else if (now - quietSince >= quietMillis) {
+                return true;
+            }
+            WaitUtils.sleep(interval);
+        }
+        return false;
+    }
+}
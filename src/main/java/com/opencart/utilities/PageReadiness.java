@@ -0,0 +1,18 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/PageReadiness.java */
+
+package com.opencart.utilities;
+
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+/**
+ * Readiness contract for a page object.
+ *
+ * A page declares the condition under which a test can start using it, e.g.
+ * "the login form is clickable". WaitUtils.waitUntilUsable(PageReadiness)
+ * waits for that condition instead of document.readyState == "complete",
+ * which is what makes the EAGER and NONE page-load strategies safe.
+ */
+public interface PageReadiness {
+
+    ExpectedCondition<?> usableWhen();
+}
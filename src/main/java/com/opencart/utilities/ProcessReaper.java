@@ -0,0 +1,236 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/ProcessReaper.java */
+
+package com.opencart.utilities;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Tracks every driver and browser process this JVM spawns, and kills the ones
+ * left behind.
+ *
+ * After each local launch the JVM's descendant processes are appended to a
+ * registry file for this run (one line per process: PID, start time and
+ * command). A killed run or a tearDown that throws before quitDriver() leaves
+ * chromedriver and Chrome running. So at startup, the registries of runs
+ * whose JVM is gone are reaped, and on JVM shutdown whatever this run
+ * registered and is still alive is reaped too. A PID is only killed when its
+ * start time (or, if unknown, its command) still matches the registry, so
+ * reused PIDs are left alone. The number of processes killed and the resident
+ * memory they held are logged. Disable with process.reaper.enabled=false.
+ */
+public class ProcessReaper {
+
+    private static final Logger logger = Logger.getLogger(ProcessReaper.class);
+
+    private static final String SUFFIX = ".pids";
+    private static final long GRACE_MILLIS = 2000;
+
+    private static final Map<Long, ProcessHandle> tracked = new ConcurrentHashMap<>();
+
+    private static Path registry;
+
+    public static boolean isEnabled() {
+        return ConfigReader.isProcessReaperEnabled();
+    }
+
+    /**
+     * Kills the processes recorded by earlier runs whose JVM has exited.
+     */
+    public static synchronized void reapOrphans() {
+        if (!isEnabled()) return;
+        File[] files = new File(ConfigReader.getProcessRegistryDir()).listFiles((dir, name) -> name.endsWith(SUFFIX));
+        if (files == null) return;
+
+        int killed = 0;
+        long reclaimedKb = 0;
+        for (File file : files) {
+            if (file.toPath().equals(registry) || ownerAlive(file)) continue;
+            try {
+                List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+                for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+                    Optional<ProcessHandle> process = match(line);
+                    if (process.isPresent()) {
+                        reclaimedKb += kill(process.get());
+                        killed++;
+                    }
+                }
+            } catch (IOException e) {
+                logger.debug("[DEBUG] Unable to read process registry " + file + ": " + e.getMessage());
+            }
+            file.delete();
+        }
+        if (killed > 0) {
+            logger.warn("[WARNING] Reaped " + killed + " orphaned driver/browser process(es) from earlier runs, "
+                    + reclaimedKb / 1024 + " MB reclaimed.");
+        }
+    }
+
+    /**
+     * Records every live descendant of this JVM that is not yet registered.
+     * Called after each local browser launch.
+     */
+    static synchronized void trackChildren() {
+        if (!isEnabled()) return;
+        List<ProcessHandle> added = ProcessHandle.current().descendants()
+                .filter(p -> tracked.putIfAbsent(p.pid(), p) == null).collect(Collectors.toList());
+        if (added.isEmpty()) return;
+
+        try {
+            Path file = registry();
+            StringBuilder lines = new StringBuilder();
+            for (ProcessHandle process : added) lines.append(describe(process)).append('\n');
+            Files.write(file, lines.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.debug("[DEBUG] Unable to update process registry: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Kills whatever this run registered and is still alive, then removes the
+     * run's registry. Called from the JVM shutdown hook after the drivers have
+     * been quit, so normally there is nothing left to kill.
+     */
+    public static synchronized void reapCurrentRun() {
+        if (registry == null) return;
+
+        int killed = 0;
+        long reclaimedKb = 0;
+        for (ProcessHandle process : tracked.values()) {
+            if (!process.isAlive()) continue;
+            reclaimedKb += kill(process);
+            killed++;
+        }
+        tracked.clear();
+        registry.toFile().delete();
+        registry = null;
+        if (killed > 0) {
+            logger.warn("[WARNING] Reaped " + killed + " driver/browser process(es) left open by this run, "
+                    + reclaimedKb / 1024 + " MB reclaimed.");
+        }
+    }
+
+    private static Path registry() throws IOException {
+        if (registry == null) {
+            Path dir = Paths.get(ConfigReader.getProcessRegistryDir());
+            Files.createDirectories(dir);
+            ProcessHandle self = ProcessHandle.current();
+            registry = dir.resolve("run-" + self.pid() + SUFFIX);
+            Files.write(registry, (describe(self) + '\n').getBytes(StandardCharsets.UTF_8));
+        }
+        return registry;
+    }
+
+    /**
+     * The first line of a registry names the JVM that owns it.
+     */
+    private static boolean ownerAlive(File file) {
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String owner = reader.readLine();
+            return owner != null && match(owner).isPresent();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * "pid startMillis command" for a process; startMillis is -1 when the OS
+     * does not report it.
+     */
+    static String describe(ProcessHandle process) {
+        ProcessHandle.Info info = process.info();
+        long started = info.startInstant().map(i -> i.toEpochMilli()).orElse(-1L);
+        return process.pid() + " " + started + " " + info.command().orElse("");
+    }
+
+    /**
+     * The live process a registry line refers to, unless its PID has since
+     * been reused by another process.
+     */
+    static Optional<ProcessHandle> match(String line) {
+        String[] parts = line.trim().split(" ", 3);
+        if (parts.length < 2) return Optional.empty();
+        try {
+            long recordedStart = Long.parseLong(parts[1]);
+            String recordedCommand = parts.length > 2 ? parts[2] : "";
+            return ProcessHandle.of(Long.parseLong(parts[0])).filter(ProcessHandle::isAlive).filter(p -> {
+                ProcessHandle.Info info = p.info();
+                if (recordedStart >= 0 && info.startInstant().isPresent()) {
+                    return info.startInstant().get().toEpochMilli() == recordedStart;
+                }
+                return !recordedCommand.isEmpty() && recordedCommand.equals(info.command().orElse(""));
+            });
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Kills a process and its descendants (renderers, GPU and utility
+     * processes), children first. Returns the resident memory they held, in KB.
+     */
+    private static long kill(ProcessHandle process) {
+        List<ProcessHandle> tree = process.descendants().collect(Collectors.toList());
+        tree.sort(Comparator.comparingLong(ProcessHandle::pid).reversed());
+        tree.add(process);
+
+        long reclaimedKb = 0;
+        for (ProcessHandle p : tree) reclaimedKb += residentKb(p.pid());
+        for (ProcessHandle p : tree) p.destroy();
+        for (ProcessHandle p : tree) {
+            try {
+                p.onExit().get(GRACE_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                p.destroyForcibly();
+            }
+        }
+        logger.debug("[DEBUG] Killed " + process.info().command().orElse("process") + " (pid " + process.pid()
+                + ") and " + (tree.size() - 1) + " child process(es).");
+        return reclaimedKb;
+    }
+
+    /**
+     * Resident set size from /proc on Linux, from ps on other Unixes, 0 where
+     * neither is available.
+     */
+    private static long residentKb(long pid) {
+        Path status = Paths.get("/proc", String.valueOf(pid), "status");
+        try {
+            if (Files.isReadable(status)) {
+                for (String line : Files.readAllLines(status, StandardCharsets.UTF_8)) {
+                    if (line.startsWith("VmRSS:")) return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+                return 0;
+            }
+            if (System.getProperty("os.name").toLowerCase().contains("win")) return 0;
+
+            Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", String.valueOf(pid)).start();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(ps.getInputStream(), StandardCharsets.UTF_8))) {
+                String rss = reader.readLine();
+                return rss == null ? 0 : Long.parseLong(rss.trim());
+            } finally {
+                // Reap ps so it does not linger as a zombie
+                if (!ps.waitFor(GRACE_MILLIS, TimeUnit.MILLISECONDS)) ps.destroyForcibly();
+            }
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/ProfileComparisonListener.java */
+
+package com.opencart.utilities;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import com.google.gson.GsonBuilder;
+
+/**
+ * Compares test durations between launch profiles.
+ *
+ * Used by testng-profile-comparison.xml, which runs the same class in two
+ * &lt;test&gt; blocks whose "browser.profile" parameter is "default" and
+ * "lean". Each passed test's duration is recorded against its profile. At
+ * suite end, tests that ran under both profiles are listed with their
+ * per-test delta (lean minus default). The table is logged and written to
+ * reports/profile-comparison.json.
+ */
+public class ProfileComparisonListener implements ITestListener, ISuiteListener {
+
+    private static final Logger logger = Logger.getLogger(ProfileComparisonListener.class);
+
+    /** test id -> (profile -> duration ms) */
+    private final Map<String, Map<String, Long>> durations = new LinkedHashMap<>();
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        String profile = result.getTestContext().getCurrentXmlTest().getParameter("browser.profile");
+        if (profile == null) profile = ConfigReader.getBrowserProfile();
+
+        String testId = result.getMethod().getQualifiedName();
+        if (result.getParameters().length > 0) {
+            testId += Arrays.toString(result.getParameters());
+        }
+        synchronized (durations) {
+            durations.computeIfAbsent(testId, k -> new LinkedHashMap<>())
+                    .put(profile.toLowerCase(), result.getEndMillis() - result.getStartMillis());
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        long defaultTotal = 0;
+        long leanTotal = 0;
+
+        synchronized (durations) {
+            for (Map.Entry<String, Map<String, Long>> entry : durations.entrySet()) {
+                Long defaultMs = entry.getValue().get(LaunchProfile.DEFAULT);
+                Long leanMs = entry.getValue().get(LaunchProfile.LEAN);
+                if (defaultMs == null || leanMs == null) continue;
+
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("test", entry.getKey());
+                row.put("defaultMs", defaultMs);
+                row.put("leanMs", leanMs);
+                row.put("deltaMs", leanMs - defaultMs);
+                row.put("deltaPct", percentChange(defaultMs, leanMs));
+                rows.add(row);
+                defaultTotal += defaultMs;
+                leanTotal += leanMs;
+            }
+        }
+        if (rows.isEmpty()) return;
+
+        StringBuilder table = new StringBuilder("[INFO] Launch profile comparison (lean vs default):\n");
+        table.append(String.format("%-70s %10s %10s %10s %8s%n", "Test", "default ms", "lean ms", "delta ms", "delta %"));
+        for (Map<String, Object> row : rows) {
+            table.append(String.format("%-70s %10d %10d %+10d %+7.1f%%%n", abbreviate((String) row.get("test")),
+                    row.get("defaultMs"), row.get("leanMs"), row.get("deltaMs"), row.get("deltaPct")));
+        }
+        table.append(String.format("%-70s %10d %10d %+10d %+7.1f%%", "TOTAL (" + rows.size() + " tests)",
+                defaultTotal, leanTotal, leanTotal - defaultTotal, percentChange(defaultTotal, leanTotal)));
+        logger.info(table);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("suite", suite.getName());
+        report.put("defaultTotalMs", defaultTotal);
+        report.put("leanTotalMs", leanTotal);
+        report.put("deltaTotalMs", leanTotal - defaultTotal);
+        report.put("tests", rows);
+        export(report);
+    }
+
+    private static double percentChange(long before, long after) {
+        return before == 0 ? 0 : (after - before) * 100.0 / before;
+    }
+
+    private static String abbreviate(String text) {
+        return text.length() <= 70 ? text : "..." + text.substring(text.length() - 67);
+    }
+
+    private void export(Map<String, Object> report) {
+        String reportDir = System.getProperty("user.dir") + File.separator + "reports";
+        new File(reportDir).mkdirs();
+        File out = new File(reportDir, "profile-comparison.json");
+        try (Writer writer = new FileWriter(out)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(report, writer);
+            logger.info("[INFO] Launch profile comparison written to: " + out.getPath());
+        } catch (IOException e) {
+            logger.warn("[WARNING] Unable to write launch profile comparison: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/ProfileTemplate.java */
+
+package com.opencart.utilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * Pre-seeded ("golden") Chrome user-data directory.
+ *
+ * The template is built once by launching Chrome against ConfigReader.getUrl()
+ * with a persistent user-data-dir, so first-run setup, the disk cache and
+ * certificate/HSTS state are already in place. Every Chrome session then
+ * starts from its own copy of the template. The copy is a reflink clone
+ * (cp --reflink=auto on Linux, cp -c on macOS) where the file system supports
+ * it, and a plain recursive copy elsewhere. Hardlinks are not used because
+ * Chrome rewrites its profile files in place and would corrupt the template.
+ *
+ * Cold-start and first-page load times are recorded for templated and fresh
+ * launches, so the two can be compared. The template build itself counts as
+ * a fresh sample. Enabled with profile.template.enabled=true.
+ */
+public class ProfileTemplate {
+
+    private static final Logger logger = Logger.getLogger(ProfileTemplate.class);
+
+    private static final String READY_MARKER = ".template-ready";
+    private static final String[] LOCK_FILES = { "SingletonLock", "SingletonSocket", "SingletonCookie", "lockfile" };
+
+    private static final Map<WebDriver, Path> clones = new ConcurrentHashMap<>();
+    private static final List<long[]> freshLaunches = new ArrayList<>();
+    private static final List<long[]> templatedLaunches = new ArrayList<>();
+
+    private static boolean templateChecked;
+
+    public static boolean isEnabled() {
+        return ConfigReader.isProfileTemplateEnabled();
+    }
+
+    /**
+     * Returns a new user-data directory cloned from the template, building the
+     * template first if needed. Returns null, meaning a fresh profile, if the
+     * template cannot be built or copied.
+     */
+    public static Path newUserDataDir() {
+        Path template = Paths.get(ConfigReader.getProfileTemplateDir()).toAbsolutePath();
+        if (!ensureTemplate(template)) return null;
+
+        try {
+            Path clone = Files.createTempDirectory("chrome-profile-");
+            long start = System.currentTimeMillis();
+            copy(template, clone);
+            logger.debug("[DEBUG] Chrome profile cloned to " + clone + " in " + (System.currentTimeMillis() - start)
+                    + " ms.");
+            return clone;
+        } catch (IOException e) {
+            logger.warn("[WARNING] Unable to clone Chrome profile template, using a fresh profile: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Associates a cloned user-data directory with its driver so it can be
+     * deleted when the driver quits.
+     */
+    static void track(WebDriver driver, Path userDataDir) {
+        if (userDataDir != null) clones.put(driver, userDataDir);
+    }
+
+    /**
+     * Deletes the cloned profile of a driver that has quit.
+     */
+    static void release(WebDriver driver) {
+        Path clone = driver == null ? null : clones.remove(driver);
+        if (clone != null) {
+            FileUtils.deleteQuietly(clone.toFile());
+        }
+    }
+
+    static void recordLaunch(boolean templated, long coldStartMillis, long firstPageMillis) {
+        List<long[]> samples = templated ? templatedLaunches : freshLaunches;
+        synchronized (samples) {
+            samples.add(new long[] { coldStartMillis, firstPageMillis });
+        }
+    }
+
+    /**
+     * Average cold start and first-page load, fresh profile vs template.
+     */
+    public static String getSummary() {
+        return "fresh profile " + describe(freshLaunches) + "; template profile " + describe(templatedLaunches);
+    }
+
+    public static void logSummary() {
+        if (freshLaunches.isEmpty() && templatedLaunches.isEmpty()) return;
+        logger.info("[INFO] Chrome startup: " + getSummary());
+    }
+
+    private static String describe(List<long[]> samples) {
+        synchronized (samples) {
+            if (samples.isEmpty()) return "n/a";
+            long start = 0;
+            long page = 0;
+            for (long[] sample : samples) {
+                start += sample[0];
+                page += sample[1];
+            }
+            return "avg cold start=" + start / samples.size() + " ms, avg first page=" + page / samples.size()
+                    + " ms (" + samples.size() + " launches)";
+        }
+    }
+
+    /**
+     * Builds the template when it is missing or older than
+     * profile.template.max.age hours. Checked once per JVM.
+     */
+    private static synchronized boolean ensureTemplate(Path template) {
+        File marker = template.resolve(READY_MARKER).toFile();
+        if (templateChecked) return marker.isFile();
+        templateChecked = true;
+
+        long maxAgeMillis = TimeUnit.HOURS.toMillis(ConfigReader.getProfileTemplateMaxAge());
+        if (marker.isFile() && System.currentTimeMillis() - marker.lastModified() < maxAgeMillis) {
+            logger.info("[INFO] Reusing Chrome profile template: " + template);
+            return true;
+        }
+
+        FileUtils.deleteQuietly(template.toFile());
+        try {
+            build(template);
+            return true;
+        } catch (Exception e) {
+            logger.warn("[WARNING] Unable to build Chrome profile template, using fresh profiles: " + e.getMessage());
+            FileUtils.deleteQuietly(template.toFile());
+            return false;
+        }
+    }
+
+    private static void build(Path template) throws IOException {
+        Files.createDirectories(template);
+        DriverBinaryResolver.resolve("chrome");
+
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--remote-allow-origins=*", "--user-data-dir=" + template);
+        if (ConfigReader.isHeadless()) options.addArguments("--headless=new", "--disable-gpu");
+
+        long start = System.currentTimeMillis();
+        WebDriver driver = new ChromeDriver(options);
+        long coldStart = System.currentTimeMillis() - start;
+        try {
+            start = System.currentTimeMillis();
+            driver.get(ConfigReader.getUrl());
+            new WebDriverWait(driver, Duration.ofSeconds(ConfigReader.getPageLoadTimeout()))
+                    .until(d -> "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
+            recordLaunch(false, coldStart, System.currentTimeMillis() - start);
+        } finally {
+            // Quitting flushes the cache, cookies and preferences to disk
+            driver.quit();
+        }
+
+        for (String lock : LOCK_FILES) {
+            Files.deleteIfExists(template.resolve(lock));
+        }
+        Files.write(template.resolve(READY_MARKER), ConfigReader.getUrl().getBytes(StandardCharsets.UTF_8));
+        logger.info("[INFO] Chrome profile template built at " + template + " (cold start " + coldStart + " ms).");
+    }
+
+    private static void copy(Path from, Path to) throws IOException {
+        String os = System.getProperty("os.name").toLowerCase();
+        List<String> command = null;
+        if (os.contains("linux")) {
+            command = List.of("cp", "-a", "--reflink=auto", from + "/.", to.toString());
+        } else if (os.contains("mac")) {
+            command = List.of("cp", "-c", "-R", from + "/.", to.toString());
+        }
+
+        if (command != null) {
+            try {
+                Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+                if (process.waitFor(60, TimeUnit.SECONDS) && process.exitValue() == 0) return;
+                process.destroyForcibly();
+                logger.debug("[DEBUG] Clone via cp failed, falling back to a regular copy.");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                logger.debug("[DEBUG] Unable to run cp: " + e.getMessage());
+            }
+            FileUtils.cleanDirectory(to.toFile());
+        }
+        FileUtils.copyDirectory(from.toFile(), to.toFile());
+    }
+}
@@ -0,0 +1,292 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/PushWait.java */
+
+package com.opencart.utilities;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import com.aventstack.extentreports.ExtentReports;
+
+/**
+ * Locator waits that block on one async script instead of polling.
+ *
+ * The script installs a MutationObserver on the document and calls back as
+ * soon as the locator's condition holds in the page, so a wait costs one
+ * WebDriver round trip plus one confirming check with the regular
+ * ExpectedCondition, instead of a round trip per poll. The in-page check
+ * also re-runs every 100 ms to catch visibility changes that mutate nothing
+ * (CSS transitions, late style sheets). The script resolves at most every
+ * 10 s, below the script timeout WebDriverFactory sets, and is re-armed
+ * until the wait's own timeout.
+ *
+ * If the page navigates away while the script is pending, the locator cannot
+ * be expressed in the page, or the confirming check disagrees with the
+ * page-side heuristic, the rest of the wait falls back to regular polling.
+ * Wait time and round trips are recorded per mode so push and poll runs can
+ * be compared (logged and added to the Extent system info at suite end).
+ * Enabled with wait.mode=push. The same observer backs the outcome race of
+ * WaitUtils.waitForFirstOutcome.
+ */
+public class PushWait {
+
+    private static final Logger logger = Logger.getLogger(PushWait.class);
+
+    private static final long MAX_SCRIPT_MILLIS = 10_000;
+    private static final long RACE_POLL_MILLIS = 100;
+
+    /**
+     * Resolves with satisfied()'s first truthy result, false at the deadline,
+     * or {error: message} if the check throws. Expects done, deadline and
+     * satisfied() to be defined.
+     */
+    private static final String OBSERVE = ""
+            + "var observer, timer, finished = false;"
+            + "function finish(result) {"
+            + "  if (finished) return;"
+            + "  finished = true;"
+            + "  if (observer) observer.disconnect();"
+            + "  clearInterval(timer);"
+            + "  done(result);"
+            + "}"
+            + "function check() {"
+            + "  try {"
+            + "    var result = satisfied();"
+            + "    if (result) finish(result); else if (Date.now() >= deadline) finish(false);"
+            + "  } catch (e) { finish({ error: e.message }); }"
+            + "}"
+            + "check();"
+            + "if (!finished) {"
+            + "  observer = new MutationObserver(check);"
+            + "  observer.observe(document, { subtree: true, childList: true, attributes: true, characterData: true });"
+            + "  timer = setInterval(check, 100);"
+            + "}";
+
+    private static final String SCRIPT = ElementSnapshot.FIND_FUNCTION + ElementSnapshot.VISIBLE_FUNCTION
+            + "var using = arguments[0], value = arguments[1], condition = arguments[2], text = arguments[3];"
+            + "var done = arguments[arguments.length - 1], deadline = Date.now() + arguments[4];"
+            + "function satisfied() {"
+            + "  var el = find(using, value);"
+            + "  if (!el) return false;"
+            + "  switch (condition) {"
+            + "    case 'PRESENT': return true;"
+            + "    case 'VISIBLE': return visible(el);"
+            + "    case 'CLICKABLE': return visible(el) && !el.disabled;"
+            + "    case 'TEXT': return (el.innerText || el.textContent || '').indexOf(text) >= 0;"
+            + "  }"
+            + "}"
+            + OBSERVE;
+
+    private static final String FIRST_OF_SCRIPT = ElementSnapshot.FIRST_VISIBLE_FUNCTION
+            + "var specs = arguments[0], done = arguments[arguments.length - 1], deadline = Date.now() + arguments[1];"
+            + "function satisfied() { return firstVisible(specs); }"
+            + OBSERVE;
+
+    /** Page-side conditions the script understands. */
+    public enum Condition {
+        PRESENT, VISIBLE, CLICKABLE, TEXT
+    }
+
+    private static final Map<String, long[]> stats = new LinkedHashMap<>();
+
+    public static boolean isEnabled() {
+        return ConfigReader.isPushWaitEnabled();
+    }
+
+    /**
+     * Waits until {@code expected} holds for {@code locator}, using the
+     * page-side observer for {@code condition} and polling as the fallback.
+     * {@code text} is only used by Condition.TEXT.
+     */
+    static <T> T until(WebDriver driver, By locator, Condition condition, String text, Duration timeout,
+            ExpectedCondition<T> expected) {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeout.toMillis();
+        String[] remote = ElementSnapshot.toScriptLocator(locator);
+        int roundTrips = 0;
+
+        if (remote != null && driver instanceof JavascriptExecutor) {
+            try {
+                while (true) {
+                    long chunk = Math.min(MAX_SCRIPT_MILLIS, Math.max(0, deadline - System.currentTimeMillis()));
+                    Object result = ((JavascriptExecutor) driver).executeAsyncScript(SCRIPT, remote[0], remote[1],
+                            condition.name(), text == null ? "" : text, chunk);
+                    roundTrips++;
+                    if (Boolean.TRUE.equals(result)) {
+                        T confirmed = expected.apply(driver);
+                        roundTrips++;
+                        if (confirmed != null && !Boolean.FALSE.equals(confirmed)) {
+                            record("push", start, roundTrips);
+                            return confirmed;
+                        }
+                        logger.debug("[DEBUG] Push wait for " + locator + " not confirmed, falling back to polling.");
+                        break;
+                    }
+                    if (result instanceof Map) {
+                        logger.debug("[DEBUG] Push wait for " + locator + " failed in page ("
+                                + ((Map<?, ?>) result).get("error") + "), falling back to polling.");
+                        break;
+                    }
+                    if (System.currentTimeMillis() >= deadline) {
+                        record("push", start, roundTrips);
+                        throw new TimeoutException("Expected condition failed: waiting for " + expected + " (tried for "
+                                + timeout.getSeconds() + " second(s) with a DOM mutation observer)");
+                    }
+                }
+            } catch (ScriptTimeoutException e) {
+                // Extends TimeoutException, but it is the driver's script timeout, not this wait's
+                roundTrips++;
+                logger.debug("[DEBUG] Push wait for " + locator
+                        + " hit the script timeout, falling back to polling.");
+            } catch (TimeoutException e) {
+                throw e;
+            } catch (WebDriverException e) {
+                // Typically the document unloaded while the script was pending
+                roundTrips++;
+                logger.debug("[DEBUG] Push wait for " + locator + " interrupted (" + e.getClass().getSimpleName()
+                        + "), falling back to polling.");
+            }
+        }
+
+        Duration remaining = Duration.ofMillis(Math.max(0, deadline - System.currentTimeMillis()));
+        return poll(driver, remaining, expected, remote == null ? "poll" : "push fallback", start, roundTrips);
+    }
+
+    /**
+     * The key of the first outcome whose locator turns visible, or null at
+     * the timeout. Every outcome is evaluated in the same check: one
+     * page-side observer when wait.mode=push, one script round trip per poll
+     * (at most 100 ms apart) otherwise (and when an outcome is a compound locator). The
+     * winner is confirmed with a regular visibility check before it is
+     * returned.
+     */
+    static String firstOf(WebDriver driver, Map<String, By> outcomes, Duration timeout) {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeout.toMillis();
+        Map<String, List<String>> specs = ElementSnapshot.scriptLocators(outcomes);
+        boolean push = isEnabled() && specs.size() == outcomes.size() && driver instanceof JavascriptExecutor;
+        int roundTrips = 0;
+
+        if (push) {
+            try {
+                while (true) {
+                    long chunk = Math.min(MAX_SCRIPT_MILLIS, Math.max(0, deadline - System.currentTimeMillis()));
+                    Object result = ((JavascriptExecutor) driver).executeAsyncScript(FIRST_OF_SCRIPT, specs, chunk);
+                    roundTrips++;
+                    if (result instanceof String) {
+                        String winner = (String) result;
+                        roundTrips++;
+                        if (isVisible(driver, outcomes.get(winner))) {
+                            record("race push", start, roundTrips);
+                            return winner;
+                        }
+                        logger.debug("[DEBUG] Outcome '" + winner + "' not confirmed, falling back to polling.");
+                        break;
+                    }
+                    if (result instanceof Map) {
+                        logger.debug("[DEBUG] Outcome race failed in page (" + ((Map<?, ?>) result).get("error")
+                                + "), falling back to polling.");
+                        break;
+                    }
+                    if (System.currentTimeMillis() >= deadline) {
+                        record("race push", start, roundTrips);
+                        return null;
+                    }
+                }
+            } catch (WebDriverException e) {
+                // Typically the document unloaded while the script was pending
+                roundTrips++;
+                logger.debug("[DEBUG] Outcome race interrupted (" + e.getClass().getSimpleName()
+                        + "), falling back to polling.");
+            }
+        }
+
+        int[] checks = { roundTrips };
+        try {
+            return AdaptiveWait.on(driver)
+                    .withTimeout(Duration.ofMillis(Math.max(0, deadline - System.currentTimeMillis())))
+                    .withMaxPolling(Duration.ofMillis(RACE_POLL_MILLIS)).ignoring(JavascriptException.class)
+                    .until(d -> {
+                        checks[0]++;
+                        return ElementSnapshot.firstVisible(d, outcomes);
+                    });
+        } catch (TimeoutException e) {
+            return null;
+        } finally {
+            record(push ? "race push fallback" : "race poll", start, checks[0]);
+        }
+    }
+
+    private static boolean isVisible(WebDriver driver, By locator) {
+        try (ImplicitWaitScope scope = ImplicitWaitScope.suspend(driver)) {
+            return ExpectedConditions.visibilityOfElementLocated(locator).apply(driver) != null;
+        }
+    }
+
+    /**
+     * Regular polling (see AdaptiveWait), counting each condition check as a
+     * round trip.
+     */
+    static <T> T poll(WebDriver driver, Duration timeout, ExpectedCondition<T> expected) {
+        return poll(driver, timeout, expected, "poll", System.currentTimeMillis(), 0);
+    }
+
+    private static <T> T poll(WebDriver driver, Duration timeout, ExpectedCondition<T> expected, String mode,
+            long start, int previousRoundTrips) {
+        int[] checks = { previousRoundTrips };
+        ExpectedCondition<T> counted = new ExpectedCondition<T>() {
+            @Override
+            public T apply(WebDriver d) {
+                checks[0]++;
+                return expected.apply(d);
+            }
+
+            @Override
+            public String toString() {
+                return expected.toString();
+            }
+        };
+        try {
+            return AdaptiveWait.on(driver).withTimeout(timeout).until(counted);
+        } finally {
+            record(mode, start, checks[0]);
+        }
+    }
+
+    private static synchronized void record(String mode, long start, int roundTrips) {
+        long[] totals = stats.computeIfAbsent(mode, m -> new long[3]);
+        totals[0]++;
+        totals[1] += System.currentTimeMillis() - start;
+        totals[2] += roundTrips;
+    }
+
+    /**
+     * Logs the average wait time and round trips per wait mode and adds them
+     * to the Extent report. Call before the report is flushed.
+     */
+    public static synchronized void publishToReport() {
+        if (stats.isEmpty()) return;
+        ExtentReports extent = ExtentManager.getInstance();
+        for (Map.Entry<String, long[]> entry : stats.entrySet()) {
+            long[] totals = entry.getValue();
+            String summary = totals[0] + " wait(s), avg " + totals[1] / totals[0] + " ms, "
+                    + String.format("%.1f", (double) totals[2] / totals[0]) + " round trip(s) per wait";
+            logger.info("[INFO] Locator waits (" + entry.getKey() + "): " + summary);
+            if (extent != null) {
+                extent.setSystemInfo("Locator Waits (" + entry.getKey() + ")", summary);
+            }
+        }
+    }
+}
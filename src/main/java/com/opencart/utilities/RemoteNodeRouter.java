@@ -0,0 +1,285 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/RemoteNodeRouter.java */
+
+package com.opencart.utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Routes new sessions across standalone Selenium nodes started on this
+ * machine or the LAN (remote.nodes in config.properties).
+ *
+ * Each new session goes to the node with the fewest active sessions. Ties go
+ * to the node with the lowest recent command latency (an exponentially
+ * weighted average over every command sent to it). A node's active count is
+ * the larger of the sessions this JVM holds there and the busy slots its
+ * /status endpoint reports, so several JVMs can share the same nodes. Nodes
+ * that do not answer /status are skipped. Per-node utilization is logged and
+ * added to the Extent system info at suite end.
+ */
+public class RemoteNodeRouter {
+
+    private static final Logger logger = Logger.getLogger(RemoteNodeRouter.class);
+
+    private static final double LATENCY_WEIGHT = 0.2;
+    private static final int STATUS_TIMEOUT_MILLIS = 2000;
+
+    private static final Map<String, Node> nodes = new LinkedHashMap<>();
+    private static final Map<WebDriver, Node> sessionNodes = new ConcurrentHashMap<>();
+
+    /**
+     * Load and latency bookkeeping for one node. Every field is guarded by
+     * the RemoteNodeRouter class monitor, so picking a node and reserving its
+     * slot happen in one critical section.
+     */
+    static class Node {
+        final URL url;
+        int active;
+        int peak;
+        int opened;
+        long commands;
+        long totalCommandMillis;
+        double recentLatencyMillis;
+
+        Node(URL url) {
+            this.url = url;
+        }
+
+        void recordCommand(long millis) {
+            synchronized (RemoteNodeRouter.class) {
+                commands++;
+                totalCommandMillis += millis;
+                recentLatencyMillis = commands == 1 ? millis
+                        : LATENCY_WEIGHT * millis + (1 - LATENCY_WEIGHT) * recentLatencyMillis;
+            }
+        }
+
+        @Override
+        public String toString() {
+            synchronized (RemoteNodeRouter.class) {
+                return opened + " sessions (peak " + peak + " concurrent), " + commands + " commands, avg "
+                        + (commands == 0 ? 0 : totalCommandMillis / commands) + " ms, recent "
+                        + Math.round(recentLatencyMillis) + " ms";
+            }
+        }
+    }
+
+    /**
+     * Command executor that feeds each command's round trip into its node's
+     * latency average.
+     */
+    private static class TimedCommandExecutor extends HttpCommandExecutor {
+        private final Node node;
+
+        TimedCommandExecutor(Node node) {
+            super(node.url);
+            this.node = node;
+        }
+
+        @Override
+        public Response execute(Command command) throws IOException {
+            long start = System.currentTimeMillis();
+            try {
+                return super.execute(command);
+            } finally {
+                node.recordCommand(System.currentTimeMillis() - start);
+            }
+        }
+    }
+
+    public static boolean isEnabled() {
+        return !ConfigReader.getRemoteNodes().isEmpty();
+    }
+
+    /**
+     * Opens a remote session on the least-loaded reachable node, trying the
+     * next one if a node refuses the session.
+     */
+    static WebDriver open(Capabilities capabilities) {
+        Map<Node, Integer> candidates = probeNodes();
+        if (candidates.isEmpty()) {
+            throw new SessionNotCreatedException("No reachable Selenium node in remote.nodes "
+                    + ConfigReader.getRemoteNodes());
+        }
+
+        RuntimeException lastError = null;
+        while (!candidates.isEmpty()) {
+            Node node = reserve(candidates);
+            try {
+                WebDriver driver = new RemoteWebDriver(new TimedCommandExecutor(node), capabilities);
+                int active;
+                synchronized (RemoteNodeRouter.class) {
+                    node.opened++;
+                    node.peak = Math.max(node.peak, node.active);
+                    active = node.active;
+                }
+                sessionNodes.put(driver, node);
+                logger.info("[INFO] Remote session opened on " + node.url + " (" + active + " active there).");
+                return driver;
+            } catch (RuntimeException e) {
+                synchronized (RemoteNodeRouter.class) {
+                    node.active--;
+                }
+                logger.warn("[WARNING] Node " + node.url + " refused the session: " + e.getMessage());
+                lastError = e;
+            }
+        }
+        throw lastError;
+    }
+
+    /**
+     * Frees the node slot of a remote driver that has quit.
+     */
+    static void release(WebDriver driver) {
+        Node node = driver == null ? null : sessionNodes.remove(driver);
+        if (node != null) {
+            synchronized (RemoteNodeRouter.class) {
+                node.active--;
+            }
+        }
+    }
+
+    /**
+     * Busy slots per reachable node. Probed without holding the lock, since
+     * each probe is an HTTP round trip.
+     */
+    private static Map<Node, Integer> probeNodes() {
+        Map<Node, Integer> busy = new LinkedHashMap<>();
+        for (Node node : configuredNodes()) {
+            int busySlots = busySlots(node);
+            if (busySlots >= 0) busy.put(node, busySlots);
+        }
+        return busy;
+    }
+
+    /**
+     * Picks the least-loaded candidate and takes a slot on it, atomically, so
+     * threads launching together spread over the nodes. The node is removed
+     * from {@code candidates}.
+     */
+    static Node reserve(Map<Node, Integer> candidates) {
+        synchronized (RemoteNodeRouter.class) {
+            Node node = leastLoaded(candidates);
+            candidates.remove(node);
+            node.active++;
+            return node;
+        }
+    }
+
+    /**
+     * The node with the fewest active sessions (the larger of this JVM's count
+     * and the busy slots it reported), ties going to the lowest recent
+     * latency. Callers hold the class monitor.
+     */
+    static Node leastLoaded(Map<Node, Integer> busySlots) {
+        return busySlots.keySet().stream()
+                .min(Comparator.<Node>comparingInt(node -> Math.max(node.active, busySlots.get(node)))
+                        .thenComparingDouble(node -> node.recentLatencyMillis))
+                .orElseThrow();
+    }
+
+    private static synchronized List<Node> configuredNodes() {
+        if (nodes.isEmpty()) {
+            for (String url : ConfigReader.getRemoteNodes()) {
+                try {
+                    nodes.put(url, new Node(new URL(url)));
+                } catch (IOException e) {
+                    logger.warn("[WARNING] Ignoring invalid remote node URL: " + url);
+                }
+            }
+        }
+        return new ArrayList<>(nodes.values());
+    }
+
+    /**
+     * Busy slots reported by the node's /status endpoint, or -1 when the node
+     * is unreachable or not ready.
+     */
+    private static int busySlots(Node node) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) statusUrl(node.url).openConnection();
+            connection.setConnectTimeout(STATUS_TIMEOUT_MILLIS);
+            connection.setReadTimeout(STATUS_TIMEOUT_MILLIS);
+            try (InputStream in = connection.getInputStream();
+                    Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                JsonObject value = JsonParser.parseReader(reader).getAsJsonObject().getAsJsonObject("value");
+                if (value == null) return -1;
+                int busy = value.has("node") ? countBusy(value.getAsJsonObject("node")) : 0;
+                boolean ready = value.has("ready") && value.get("ready").getAsBoolean();
+                // A fully busy node also reports ready=false; only skip idle nodes that are not ready
+                return ready || busy > 0 ? busy : -1;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (Exception e) {
+            logger.debug("[DEBUG] Node " + node.url + " unreachable: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * The node's /status endpoint below its base path, so a node configured
+     * as http://host:4444/wd/hub is probed at /wd/hub/status.
+     */
+    static URL statusUrl(URL base) throws IOException {
+        String path = base.getPath().replaceAll("/+$", "");
+        return new URL(base.getProtocol(), base.getHost(), base.getPort(), path + "/status");
+    }
+
+    private static int countBusy(JsonObject nodeStatus) {
+        JsonArray slots = nodeStatus.getAsJsonArray("slots");
+        if (slots == null) return 0;
+        int busy = 0;
+        for (JsonElement slot : slots) {
+            JsonElement session = slot.getAsJsonObject().get("session");
+            if (session != null && !session.isJsonNull()) busy++;
+        }
+        return busy;
+    }
+
+    /**
+     * Logs per-node utilization and adds it to the Extent report. Call before
+     * the report is flushed.
+     */
+    public static void publishToReport() {
+        List<Node> used;
+        synchronized (RemoteNodeRouter.class) {
+            used = new ArrayList<>(nodes.values());
+        }
+        if (used.isEmpty()) return;
+
+        ExtentReports extent = ExtentManager.getInstance();
+        for (Node node : used) {
+            logger.info("[INFO] Remote node " + node.url + ": " + node);
+            if (extent != null) {
+                extent.setSystemInfo("Remote Node (" + node.url + ")", node.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/ReportPublishers.java */
+
+package com.opencart.utilities;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Suite-end summaries (wait statistics, node utilization, cache savings...)
+ * that are logged and added to the Extent system info before the report is
+ * flushed.
+ *
+ * Every publisher is listed here, in the order it runs, so BaseTest makes one
+ * publishAll() call instead of knowing every utility. Publishers that have
+ * nothing to report return without output; one that throws is logged and
+ * does not stop the rest.
+ */
+public final class ReportPublishers {
+
+    private static final Logger logger = Logger.getLogger(ReportPublishers.class);
+
+    private static final Map<String, Runnable> publishers = new LinkedHashMap<>();
+
+    static {
+        publishers.put("blocked requests", NetworkBlocker::publishToReport);
+        publishers.put("asset cache", AssetCache::shutdown);
+        publishers.put("session watchdog", SessionWatchdog::publishToReport);
+        publishers.put("driver startup timing", DriverStartupTiming::publishSummary);
+        publishers.put("remote nodes", RemoteNodeRouter::publishToReport);
+        publishers.put("locator waits", PushWait::publishToReport);
+        publishers.put("adaptive polling", AdaptiveWait::publishToReport);
+        publishers.put("learned timeouts", LearnedTimeouts::publishToReport);
+        publishers.put("scoped element checks", ImplicitWaitScope::publishToReport);
+        publishers.put("driver resolution", DriverBinaryResolver::logSummary);
+        publishers.put("profile template", ProfileTemplate::logSummary);
+    }
+
+    private ReportPublishers() {
+    }
+
+    /**
+     * Runs every publisher in order. Call before the report is flushed.
+     */
+    public static void publishAll() {
+        for (Map.Entry<String, Runnable> entry : publishers.entrySet()) {
+            try {
+                entry.getValue().run();
+            } catch (Exception e) {
+                logger.warn("[WARNING] Unable to publish " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.util.Date;
 import org.apache.commons.io.FileUtils;
 import org.apache.log4j.Logger;
 import org.openqa.selenium.*;
+import org.testng.ITestResult;
 
 /**
  * Screenshot helper that creates reports/screenshots directory if missing.
@@ -20,6 +21,10 @@ public class ScreenshotUtils {
 	public static String captureScreenshot(WebDriver driver, String screenshotName) {
 		if (driver == null)
 			return null;
+		if (!supportsScreenshots(driver)) {
+			logger.info("[INFO] Screenshot skipped: the current browser cannot take screenshots (lite routing).");
+			return null;
+		}
 		
 		try {
 			File src = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
@@ -41,6 +46,26 @@ public class ScreenshotUtils {
 		}
 	}
 	
+	/**
+	 * False while the caller's session is routed to a browser without
+	 * screenshot support (the lite HtmlUnit driver), even though the session
+	 * proxy still advertises TakesScreenshot.
+	 */
+	public static boolean supportsScreenshots(WebDriver driver) {
+		DriverSession session = WebDriverFactory.getSession();
+		WebDriver target = session != null && session.getDriver() == driver ? session.getTarget() : driver;
+		return target instanceof TakesScreenshot;
+	}
+
+	/**
+	 * Like supportsScreenshots(WebDriver), for result listeners: by the time
+	 * they run, a test that ran on the lite driver has been routed back to the
+	 * real browser, whose page has nothing to do with the failure.
+	 */
+	public static boolean supportsScreenshots(WebDriver driver, ITestResult result) {
+		return !SessionLifecycleListener.ranOnLite(result) && supportsScreenshots(driver);
+	}
+
 	public static void capturedScreenshot(WebDriver driver, String message) {
 		String screenshotPath = ScreenshotUtils.captureScreenshot(driver, ExtentTestManager.getTest().getModel().getName());
         ExtentTestManager.logInfo(message+ ": " + screenshotPath);
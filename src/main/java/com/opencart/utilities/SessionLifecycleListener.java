@@ -0,0 +1,70 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/SessionLifecycleListener.java */
+
+package com.opencart.utilities;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+/**
+ * Gives WebDriverFactory a hook between tests.
+ *
+ * beforeInvocation runs on the worker thread right before each @Test method
+ * (including every data-provider iteration), which is the only point where a
+ * session may be recycled without interrupting a running test. It is also
+ * where DOM-only tests are routed to the lite driver and back.
+ *
+ * Lite routing is off unless lite.routing=true, either in config.properties
+ * or as a suite/test parameter, so a run opts in. A routed test is marked on
+ * its ITestResult: afterInvocation has already routed the session back to the
+ * real browser when the failure listeners run, and they use the mark to skip
+ * a screenshot of the unrelated real-browser page.
+ */
+public class SessionLifecycleListener implements IInvokedMethodListener {
+
+    private static final String LITE_ROUTED = "lite.routed";
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) return;
+
+        // The real browser's watchdog, recycling and test count run for lite tests too
+        WebDriverFactory.beforeTest(method.getTestMethod().getQualifiedName());
+        if (isLiteEligible(method, testResult)) {
+            testResult.setAttribute(LITE_ROUTED, Boolean.TRUE);
+            WebDriverFactory.routeToLite();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod() && ranOnLite(testResult)) {
+            WebDriverFactory.routeToBrowser();
+        }
+    }
+
+    /**
+     * Whether the test behind {@code result} was routed to the lite driver.
+     */
+    public static boolean ranOnLite(ITestResult result) {
+        return result != null && Boolean.TRUE.equals(result.getAttribute(LITE_ROUTED));
+    }
+
+    /**
+     * DOM-only tests marked with @LiteBrowser or placed in the "lite" group,
+     * when lite routing is enabled for this run.
+     */
+    private boolean isLiteEligible(IInvokedMethod method, ITestResult testResult) {
+        String enabled = testResult.getTestContext().getCurrentXmlTest().getParameter("lite.routing");
+        if (enabled == null ? !ConfigReader.isLiteRoutingEnabled() : !Boolean.parseBoolean(enabled)) return false;
+
+        ITestNGMethod testMethod = method.getTestMethod();
+        Method javaMethod = testMethod.getConstructorOrMethod().getMethod();
+        return (javaMethod != null && javaMethod.isAnnotationPresent(LiteBrowser.class))
+                || Arrays.asList(testMethod.getGroups()).contains(LiteBrowser.GROUP);
+    }
+}
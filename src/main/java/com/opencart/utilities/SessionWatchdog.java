@@ -0,0 +1,123 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/main/java/com/opencart/utilities/SessionWatchdog.java */
+
+package com.opencart.utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import com.aventstack.extentreports.ExtentReports;
+
+/**
+ * Health checks for driver sessions.
+ *
+ * A session is considered dead when a forwarded command fails with a
+ * session-level error (see isSessionDead), or when the liveness probe between
+ * tests does not answer within watchdog.probe.timeout seconds. DriverSession
+ * then replaces the browser before the next test starts. The replacement
+ * lands on ConfigReader.getUrl(), and the driver reference held by BaseTest
+ * stays valid. Every crash and the time lost to it (from the first failing
+ * command to a ready replacement) are logged and added to the Extent system
+ * info at suite end. Enabled by default, disable with watchdog.enabled=false.
+ */
+public class SessionWatchdog {
+
+    private static final Logger logger = Logger.getLogger(SessionWatchdog.class);
+
+    // Guarded by SessionWatchdog.class, together with totalLostMillis
+    private static final List<String> crashes = new ArrayList<>();
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService probes = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "session-watchdog-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static long totalLostMillis;
+
+    public static boolean isEnabled() {
+        return ConfigReader.isWatchdogEnabled();
+    }
+
+    /**
+     * True for errors meaning the browser or its driver process is gone, as
+     * opposed to ordinary command failures such as a missing element.
+     */
+    static boolean isSessionDead(Throwable error) {
+        if (error instanceof NoSuchSessionException || error instanceof UnreachableBrowserException
+                || error instanceof SessionNotCreatedException) {
+            return true;
+        }
+        if (!(error instanceof WebDriverException) || error.getMessage() == null) return false;
+
+        String message = error.getMessage().toLowerCase();
+        return message.contains("not reachable") || message.contains("disconnected: ")
+                || message.contains("session deleted") || message.contains("connection refused")
+                || message.contains("invalid session id");
+    }
+
+    /**
+     * Cheap liveness check: one getWindowHandle round trip, bounded by
+     * watchdog.probe.timeout so a hung driver cannot stall the suite.
+     */
+    static boolean probe(WebDriver driver) {
+        Future<String> handle = probes.submit(driver::getWindowHandle);
+        try {
+            handle.get(ConfigReader.getWatchdogProbeTimeout(), TimeUnit.SECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        } catch (Exception e) {
+            handle.cancel(true);
+            logger.warn("[WARNING] Session liveness probe failed: " + (e.getCause() != null ? e.getCause() : e));
+            return false;
+        }
+    }
+
+    static void recordCrash(String browserName, String nextTest, String cause, long lostMillis) {
+        String entry = browserName + " before " + (nextTest == null ? "next test" : nextTest) + ": " + cause + " ("
+                + lostMillis + " ms lost)";
+        synchronized (SessionWatchdog.class) {
+            crashes.add(entry);
+            totalLostMillis += lostMillis;
+        }
+        logger.warn("[WARNING] Dead session replaced - " + entry);
+    }
+
+    /**
+     * Adds the crash list and total time lost to the Extent report. Call
+     * before the report is flushed.
+     */
+    public static void publishToReport() {
+        List<String> snapshot;
+        long lostMillis;
+        synchronized (SessionWatchdog.class) {
+            snapshot = new ArrayList<>(crashes);
+            lostMillis = totalLostMillis;
+        }
+        if (snapshot.isEmpty()) return;
+
+        ExtentReports extent = ExtentManager.getInstance();
+        if (extent != null) {
+            for (int i = 0; i < snapshot.size(); i++) {
+                extent.setSystemInfo("Session Crash #" + (i + 1), snapshot.get(i));
+            }
+            extent.setSystemInfo("Session Crashes (total)", snapshot.size() + " replaced, " + lostMillis
+                    + " ms lost");
+        }
+        logger.info("[INFO] Session watchdog: " + snapshot.size() + " dead session(s) replaced, " + lostMillis
+                + " ms lost.");
+    }
+}
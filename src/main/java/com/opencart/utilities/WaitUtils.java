@@ -5,6 +5,7 @@
 package com.opencart.utilities;
 
 import java.time.Duration;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 import org.openqa.selenium.*;
@@ -19,27 +20,75 @@ import org.openqa.selenium.support.ui.*;
 public class WaitUtils {
 
     protected WebDriver driver; // Remove static
-    protected WebDriverWait wait;
+    protected Duration timeout;
     protected static final Logger logger = Logger.getLogger(WaitUtils.class);
 
     private static final int DEFAULT_TIMEOUT = ConfigReader.getExplicitWait();
     private static final int DEFAULT_SLEEP_MILLIS = 500;
+    private static final int AJAX_POLL_MILLIS = 100;
+
+    /** Document loaded, no jQuery AJAX request in flight and no jQuery animation running. */
+    private static final String AJAX_QUIESCENT_SCRIPT = "if (document.readyState !== 'complete') return false;"
+            + "var jq = window.jQuery;"
+            + "if (!jq) return true;"
+            + "return jq.active === 0 && (!jq.timers || jq.timers.length === 0) && jq(':animated').length === 0;";
 
     public WaitUtils(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
+        this.timeout = Duration.ofSeconds(DEFAULT_TIMEOUT);
     }
 
     public WaitUtils(WebDriver driver, int timeoutSeconds) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+    }
+
+    /**
+     * This thread's AdaptiveWait, armed with this instance's timeout.
+     */
+    protected AdaptiveWait adaptiveWait() {
+        return AdaptiveWait.on(driver).withTimeout(timeout);
+    }
+
+    /**
+     * Waits for a locator condition, through PushWait's mutation observer when
+     * wait.mode=push and by adaptive polling otherwise. A null timeout means
+     * this instance's, replaced by the locator's learned timeout when
+     * wait.learning.enabled and this instance uses explicit.wait (see
+     * LearnedTimeouts). With learning enabled every wait's duration is
+     * recorded, and timeouts of default-timeout waits are recorded at their
+     * limit. The wait runs with the implicit wait suspended, so a failing
+     * find inside it returns at once and the recorded durations measure the
+     * page rather than implicit.wait.
+     */
+    protected <T> T untilLocated(By locator, PushWait.Condition condition, String text, Duration timeout,
+            ExpectedCondition<T> expected) {
+        String key = LearnedTimeouts.isEnabled() ? LearnedTimeouts.key(driver, locator) : null;
+        Duration limit = timeout;
+        if (limit == null) {
+            limit = key != null && this.timeout.getSeconds() == DEFAULT_TIMEOUT
+                    ? LearnedTimeouts.timeoutFor(key, this.timeout) : this.timeout;
+        }
+
+        long start = System.currentTimeMillis();
+        try (ImplicitWaitScope scope = ImplicitWaitScope.suspend(driver)) {
+            T result = PushWait.isEnabled() ? PushWait.until(driver, locator, condition, text, limit, expected)
+                    : PushWait.poll(driver, limit, expected);
+            LearnedTimeouts.record(key, System.currentTimeMillis() - start);
+            return result;
+        } catch (TimeoutException e) {
+            // Short caller-chosen timeouts are mostly absence probes, not slow pages
+            if (timeout == null) LearnedTimeouts.record(key, limit.toMillis());
+            throw e;
+        }
     }
 
     /* ------------ For By locators (Wait for By) ------------ */
 
     public WebElement waitForElementToBeVisible(By locator) {
         try {
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            return untilLocated(locator, PushWait.Condition.VISIBLE, null, null,
+                    ExpectedConditions.visibilityOfElementLocated(locator));
         } catch (TimeoutException e) {
             logger.error("[ERROR] Element not visible: " + locator, e);
             throw e;
@@ -47,13 +96,14 @@ public class WaitUtils {
     }
 
     public WebElement waitForElementToBeVisible(By locator, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return untilLocated(locator, PushWait.Condition.VISIBLE, null, Duration.ofSeconds(timeoutInSeconds),
+                ExpectedConditions.visibilityOfElementLocated(locator));
     }
 
     public WebElement waitForElementToBeClickable(By locator) {
         try {
-            return wait.until(ExpectedConditions.elementToBeClickable(locator));
+            return untilLocated(locator, PushWait.Condition.CLICKABLE, null, null,
+                    ExpectedConditions.elementToBeClickable(locator));
         } catch (TimeoutException e) {
             logger.error("[ERROR] Element not clickable: " + locator, e);
             throw e;
@@ -62,44 +112,55 @@ public class WaitUtils {
 
     public WebElement waitForPresence(By locator) {
         try {
-            return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+            return untilLocated(locator, PushWait.Condition.PRESENT, null, null,
+                    ExpectedConditions.presenceOfElementLocated(locator));
         } catch (TimeoutException e) {
             logger.error("[ERROR] Element not present in DOM: " + locator, e);
             throw e;
         }
     }
 
+    public boolean waitForTextInElement(By locator, String text) {
+        try {
+            return untilLocated(locator, PushWait.Condition.TEXT, text, null,
+                    ExpectedConditions.textToBePresentInElementLocated(locator, text));
+        } catch (TimeoutException e) {
+            logger.error("[ERROR] Text '" + text + "' not present in element: " + locator, e);
+            throw e;
+        }
+    }
+
     public boolean waitForTitleContains(String titleFragment) {
-        return wait.until(ExpectedConditions.titleContains(titleFragment));
+        return adaptiveWait().until(ExpectedConditions.titleContains(titleFragment));
     }
 
     /* ------------ For WebElement (Wait for WebElement) ------------ */
 
     public WebElement waitForElementToBeVisible(WebElement element) {
-        return wait.until(ExpectedConditions.visibilityOf(element));
+        return adaptiveWait().until(ExpectedConditions.visibilityOf(element));
     }
 
     public WebElement waitForElementToBeClickable(WebElement element) {
-        return wait.until(ExpectedConditions.elementToBeClickable(element));
+        return adaptiveWait().until(ExpectedConditions.elementToBeClickable(element));
     }
 
     /* ------------ Timed versions ------------ */
 
     public WebElement waitForElementToBeClickable(By locator, int timeoutSeconds) {
-        WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-        return customWait.until(ExpectedConditions.elementToBeClickable(locator));
+        return untilLocated(locator, PushWait.Condition.CLICKABLE, null, Duration.ofSeconds(timeoutSeconds),
+                ExpectedConditions.elementToBeClickable(locator));
     }
 
     public WebElement waitForElementToBeClickable(WebElement element, int timeoutSeconds) {
-        WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-        return customWait.until(ExpectedConditions.elementToBeClickable(element));
+        return AdaptiveWait.on(driver).withTimeout(Duration.ofSeconds(timeoutSeconds))
+                .until(ExpectedConditions.elementToBeClickable(element));
     }
 
     /* ---------------------- Page & Sleep ---------------------- */
 
     public void waitForPageToLoad() {
         try {
-            new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT))
+            AdaptiveWait.on(driver).withTimeout(Duration.ofSeconds(DEFAULT_TIMEOUT))
                     .until(webDriver -> ((JavascriptExecutor) webDriver).executeScript("return document.readyState")
                             .equals("complete"));
             logger.info("[INFO] Page loaded successfully.");
@@ -108,6 +169,110 @@ public class WaitUtils {
         }
     }
 
+    /**
+     * Waits until the page object reports itself usable. This is the page's
+     * own readiness contract, so under the EAGER and NONE page-load
+     * strategies navigation completes without waiting for every subresource.
+     */
+    public void waitUntilUsable(PageReadiness page) {
+        long start = System.currentTimeMillis();
+        try {
+            adaptiveWait().until(page.usableWhen());
+            logger.debug("[DEBUG] " + page.getClass().getSimpleName() + " usable after "
+                    + (System.currentTimeMillis() - start) + " ms.");
+        } catch (TimeoutException e) {
+            logger.error("[ERROR] " + page.getClass().getSimpleName() + " not usable: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Races several named outcomes of an action, for example "account page"
+     * against "warning alert", and returns the name of the first whose
+     * locator turns visible. All outcomes are evaluated in the same check
+     * (see PushWait.firstOf), so a negative path returns as soon as its error
+     * shows instead of sitting through the positive path's timeout. Returns
+     * null, after logging, if none shows within the timeout.
+     */
+    public String waitForFirstOutcome(Map<String, By> outcomes, int timeoutSeconds) {
+        long start = System.currentTimeMillis();
+        String outcome = PushWait.firstOf(driver, outcomes, Duration.ofSeconds(timeoutSeconds));
+        if (outcome != null) {
+            logger.debug("[DEBUG] Outcome '" + outcome + "' after " + (System.currentTimeMillis() - start) + " ms.");
+        } else {
+            logger.warn("[WARNING] None of " + outcomes.keySet() + " after " + timeoutSeconds + " s.");
+        }
+        return outcome;
+    }
+
+    public String waitForFirstOutcome(Map<String, By> outcomes) {
+        return waitForFirstOutcome(outcomes, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Condition for OpenCart's jQuery-driven widgets (account dropdown, form
+     * submissions): DOM ready, jQuery.active == 0 and no pending animations,
+     * checked in one script round trip. Pages without jQuery only need the
+     * DOM to be complete.
+     */
+    public static ExpectedCondition<Boolean> ajaxQuiescent() {
+        return new ExpectedCondition<Boolean>() {
+            @Override
+            public Boolean apply(WebDriver driver) {
+                return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(AJAX_QUIESCENT_SCRIPT));
+            }
+
+            @Override
+            public String toString() {
+                return "jQuery AJAX and animations to finish";
+            }
+        };
+    }
+
+    /**
+     * Waits for ajaxQuiescent() after a click that starts async work, polling
+     * at most 100 ms apart. Returns false, after logging, if the page is still
+     * busy at the timeout (an endless jQuery animation, for instance).
+     */
+    public boolean waitForAjaxQuiescence(int timeoutSeconds) {
+        long start = System.currentTimeMillis();
+        try {
+            AdaptiveWait.on(driver).withTimeout(Duration.ofSeconds(timeoutSeconds))
+                    .withMaxPolling(Duration.ofMillis(AJAX_POLL_MILLIS)).ignoring(JavascriptException.class)
+                    .until(ajaxQuiescent());
+            logger.debug("[DEBUG] AJAX quiescent after " + (System.currentTimeMillis() - start) + " ms.");
+            return true;
+        } catch (TimeoutException e) {
+            logger.warn("[WARNING] jQuery still busy after " + timeoutSeconds + " s, continuing.");
+            return false;
+        }
+    }
+
+    public boolean waitForAjaxQuiescence() {
+        return waitForAjaxQuiescence(DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Waits until the page has had no request in flight for quietMillis (see
+     * NetworkIdle). Use instead of fixed sleeps after actions that load or
+     * post. Returns false, after logging, if the network stays busy past the
+     * timeout.
+     */
+    public boolean waitForNetworkIdle(long quietMillis, int timeoutSeconds) {
+        long start = System.currentTimeMillis();
+        boolean idle = NetworkIdle.await(driver, quietMillis, Duration.ofSeconds(timeoutSeconds));
+        if (idle) {
+            logger.debug("[DEBUG] Network idle after " + (System.currentTimeMillis() - start) + " ms.");
+        } else {
+            logger.warn("[WARNING] Network still busy after " + timeoutSeconds + " s, continuing.");
+        }
+        return idle;
+    }
+
+    public boolean waitForNetworkIdle() {
+        return waitForNetworkIdle(ConfigReader.getNetworkIdleQuietMillis(), DEFAULT_TIMEOUT);
+    }
+
     public static void sleep(long millis) {
         try {
             Thread.sleep(millis);
@@ -133,9 +298,22 @@ public class WaitUtils {
     
     /* -------------------- Element presence -------------------- */
 
+    /**
+     * Answers at once: the implicit wait is suspended for the check (see
+     * ImplicitWaitScope), so a missing element costs one round trip instead
+     * of implicit.wait seconds.
+     */
     public static boolean isElementPresent(WebDriver driver, By locator) {
-        try {
-            return driver.findElements(locator).size() > 0;
+        try (ImplicitWaitScope scope = ImplicitWaitScope.suspend(driver)) {
+            return scope.isPresent(locator);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public static boolean isElementAbsent(WebDriver driver, By locator) {
+        try (ImplicitWaitScope scope = ImplicitWaitScope.suspend(driver)) {
+            return !scope.isPresent(locator);
         } catch (Exception e) {
             return false;
         }
@@ -153,11 +331,14 @@ public class WaitUtils {
 
     // ---------------------- Fluent Wait ----------------------
 
+    /**
+     * Presence wait on the adaptive schedule, backing off no further than
+     * pollingMillis.
+     */
     public WebElement fluentWait(By locator, int timeoutSeconds, int pollingMillis) {
         try {
-            Wait<WebDriver> fluentWait = new FluentWait<>(driver).withTimeout(Duration.ofSeconds(timeoutSeconds))
-                    .pollingEvery(Duration.ofMillis(pollingMillis)).ignoring(NoSuchElementException.class)
-                    .ignoring(StaleElementReferenceException.class);
+            Wait<WebDriver> fluentWait = AdaptiveWait.on(driver).withTimeout(Duration.ofSeconds(timeoutSeconds))
+                    .withMaxPolling(Duration.ofMillis(pollingMillis));
             return fluentWait.until(ExpectedConditions.presenceOfElementLocated(locator));
         } catch (TimeoutException e) {
             logger.error("[ERROR] Element not found using fluent wait: " + locator, e);
@@ -2,72 +2,224 @@
 
 package com.opencart.utilities;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.remote.service.DriverService;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.htmlunit.BrowserVersion;
+import org.htmlunit.WebClient;
 
+/**
+ * Creates and tracks WebDriver sessions.
+ *
+ * Every session is owned by a key. By default the key is the calling worker
+ * thread, so parallel TestNG workers each get their own browser and
+ * getDriver()/quitDriver() only ever see the caller's session. A test can bind
+ * the current thread to an explicit key via useSessionKey(String).
+ */
 public class WebDriverFactory {
 
     private static final Logger logger = Logger.getLogger(WebDriverFactory.class);
-    private static WebDriver driver;
+
+    /** Async scripts (PushWait) resolve well within this. */
+    private static final int SCRIPT_TIMEOUT_SECONDS = 30;
+
+    private static final Map<String, DriverSession> sessions = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> sessionKey =
+            ThreadLocal.withInitial(() -> "thread-" + Thread.currentThread().getId());
+    private static final ThreadLocal<String> launchProfile = ThreadLocal.withInitial(ConfigReader::getBrowserProfile);
+    private static final ThreadLocal<PageLoadStrategy> pageLoadStrategy =
+            ThreadLocal.withInitial(ConfigReader::getPageLoadStrategy);
+
+    static {
+        ProcessReaper.reapOrphans();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            quitAllDrivers();
+            ProcessReaper.reapCurrentRun();
+        }, "webdriver-shutdown"));
+    }
 
     public static WebDriver createDriver(String browserName) {
-        if (driver != null) return driver;
+        String key = sessionKey.get();
+        DriverSession existing = sessions.get(key);
+        if (existing != null && existing.takeIdle()) {
+            existing = reuseForNextClass(key, existing);
+        }
+        if (existing != null) return existing.getDriver();
 
+        DriverSession session = openSession(browserName);
+        sessions.put(key, session);
+        logger.info("[INFO] Session '" + key + "' registered (" + sessions.size() + " active).");
+        return session.getDriver();
+    }
+
+    /**
+     * Launches a new browser wrapped in a DriverSession, without registering
+     * it against the caller's session key.
+     */
+    static DriverSession openSession(String browserName) {
+        browserName = (browserName == null || browserName.isEmpty()) ? ConfigReader.getBrowser() : browserName;
+        String profile = launchProfile.get();
+        PageLoadStrategy strategy = pageLoadStrategy.get();
+        return new DriverSession(browserName, profile, strategy, launchDriver(browserName, profile, strategy));
+    }
+
+    /**
+     * Launches and configures a new browser without registering it against the
+     * caller's session key.
+     */
+    static WebDriver launchDriver(String browserName) {
+        return launchDriver(browserName, launchProfile.get(), pageLoadStrategy.get());
+    }
+
+    static WebDriver launchDriver(String browserName, String profile, PageLoadStrategy strategy) {
         browserName = (browserName == null || browserName.isEmpty()) ? ConfigReader.getBrowser() : browserName;
         boolean headless = ConfigReader.isHeadless();
+        DriverStartupTiming timing = new DriverStartupTiming(browserName.toLowerCase());
+        DriverService service = null;
+        WebDriver driver = null;
+        Path userDataDir = null;
+        long coldStartMillis = -1;
 
         try {
-            ConfigReader config = new ConfigReader();
-
             switch (browserName.toLowerCase()) {
                 case "chrome":
-                    WebDriverManager.chromedriver().setup();
                     ChromeOptions chromeOpts = new ChromeOptions();
                     chromeOpts.addArguments("--start-maximized", "--remote-allow-origins=*");
                     if (headless) chromeOpts.addArguments("--headless=new", "--disable-gpu");
-                    driver = new ChromeDriver(chromeOpts);
+                    LaunchProfile.apply(profile, chromeOpts, headless);
+                    chromeOpts.setPageLoadStrategy(strategy);
+                    if (RemoteNodeRouter.isEnabled()) {
+                        driver = timing.measure("session negotiation", () -> RemoteNodeRouter.open(chromeOpts));
+                        break;
+                    }
+                    timing.run("resolution", () -> DriverBinaryResolver.resolve("chrome"));
+                    if (BrowserContextHost.isEnabled()) {
+                        // Isolated context inside the shared Chrome instead of a new process
+                        driver = timing.measure("session negotiation",
+                                () -> BrowserContextHost.openContext(chromeOpts, strategy));
+                        break;
+                    }
+                    if (ProfileTemplate.isEnabled()) {
+                        userDataDir = timing.measure("profile clone", ProfileTemplate::newUserDataDir);
+                        if (userDataDir != null) chromeOpts.addArguments("--user-data-dir=" + userDataDir);
+                    }
+                    long launchStart = System.currentTimeMillis();
+                    ChromeDriverService chromeService = timing.measure("process launch",
+                            () -> startService(new ChromeDriverService.Builder(), "webdriver.chrome.driver"));
+                    service = chromeService;
+                    driver = timing.measure("session negotiation", () -> new ChromeDriver(chromeService, chromeOpts));
+                    coldStartMillis = System.currentTimeMillis() - launchStart;
+                    ProfileTemplate.track(driver, userDataDir);
                     break;
 
                 case "firefox":
-                    WebDriverManager.firefoxdriver().setup();
                     FirefoxOptions ffOpts = new FirefoxOptions();
                     if (headless) ffOpts.addArguments("--headless");
-                    driver = new FirefoxDriver(ffOpts);
+                    LaunchProfile.apply(profile, ffOpts, headless);
+                    ffOpts.setPageLoadStrategy(strategy);
+                    if (RemoteNodeRouter.isEnabled()) {
+                        driver = timing.measure("session negotiation", () -> RemoteNodeRouter.open(ffOpts));
+                        break;
+                    }
+                    timing.run("resolution", () -> DriverBinaryResolver.resolve("firefox"));
+                    GeckoDriverService ffService = timing.measure("process launch",
+                            () -> startService(new GeckoDriverService.Builder(), "webdriver.gecko.driver"));
+                    service = ffService;
+                    driver = timing.measure("session negotiation", () -> new FirefoxDriver(ffService, ffOpts));
                     break;
 
                 case "edge":
-                    WebDriverManager.edgedriver().setup();
                     EdgeOptions edgeOpts = new EdgeOptions();
                     if (headless) edgeOpts.addArguments("--headless=new");
-                    driver = new EdgeDriver(edgeOpts);
+                    LaunchProfile.apply(profile, edgeOpts, headless);
+                    edgeOpts.setPageLoadStrategy(strategy);
+                    if (RemoteNodeRouter.isEnabled()) {
+                        driver = timing.measure("session negotiation", () -> RemoteNodeRouter.open(edgeOpts));
+                        break;
+                    }
+                    timing.run("resolution", () -> DriverBinaryResolver.resolve("edge"));
+                    EdgeDriverService edgeService = timing.measure("process launch",
+                            () -> startService(new EdgeDriverService.Builder(), "webdriver.edge.driver"));
+                    service = edgeService;
+                    driver = timing.measure("session negotiation", () -> new EdgeDriver(edgeService, edgeOpts));
+                    break;
+
+                case "lite":
+                    // In-JVM headless DOM driver: no renderer, no driver binary
+                    driver = timing.measure("session negotiation", () -> new HtmlUnitDriver(BrowserVersion.CHROME, true) {
+                        @Override
+                        protected WebClient modifyWebClient(WebClient client) {
+                            client.getOptions().setThrowExceptionOnScriptError(false);
+                            client.getOptions().setPrintContentOnFailingStatusCode(false);
+                            return client;
+                        }
+                    });
                     break;
 
                 default:
                     throw new IllegalArgumentException("[WARNING] Invalid browser: " + browserName);
             }
 
-            driver.manage().deleteAllCookies();
-            driver.manage().window().maximize();
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigReader.getImplicitWait()));
-            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(ConfigReader.getPageLoadTimeout()));
-            driver.get(ConfigReader.getUrl());
-            
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(ConfigReader.getExplicitWait()));
-            
-            logger.info("[INFO] '" + browserName + "' launched and navigated to: " + ConfigReader.getUrl());
-            
+            ProcessReaper.trackChildren();
+            WebDriver launched = driver;
+            String name = browserName;
+            timing.run("devtools setup", () -> FetchInterception.install(name, launched));
+            timing.run("deleteAllCookies", () -> launched.manage().deleteAllCookies());
+            timing.run("maximize", () -> launched.manage().window().maximize());
+            timing.run("timeouts", () -> {
+                launched.manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigReader.getImplicitWait()));
+                launched.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(ConfigReader.getPageLoadTimeout()));
+                launched.manage().timeouts().scriptTimeout(Duration.ofSeconds(SCRIPT_TIMEOUT_SECONDS));
+            });
+            long getStart = System.currentTimeMillis();
+            timing.run("initial get", () -> {
+                launched.get(ConfigReader.getUrl());
+                waitForDomReady(launched, strategy);
+            });
+            if (coldStartMillis >= 0) {
+                ProfileTemplate.recordLaunch(userDataDir != null, coldStartMillis, System.currentTimeMillis() - getStart);
+            }
+            timing.complete(driver);
+
+            logger.info("[INFO] '" + browserName + "' (" + profile + " profile, " + strategy
+                    + " page load) launched and navigated to: "
+                    + ConfigReader.getUrl());
+
         } catch (Exception e) {
+            if (driver == null && service != null && service.isRunning()) {
+                // Session negotiation failed, so nothing will stop the driver process
+                service.stop();
+            }
+            if (userDataDir != null && coldStartMillis < 0) {
+                // Chrome never started, so nothing will release the cloned profile
+                FileUtils.deleteQuietly(userDataDir.toFile());
+            }
             logger.error("[FAILED] WebDriver initialization failed: " + e.getMessage(), e);
             throw new RuntimeException(e);
         }
@@ -75,15 +227,265 @@ public class WebDriverFactory {
         return driver;
     }
 
+    /**
+     * Starts the driver process up front when its binary is already resolved,
+     * so process launch and session negotiation are timed separately.
+     * Otherwise Selenium Manager locates and starts it during negotiation.
+     */
+    private static <S extends DriverService> S startService(DriverService.Builder<S, ?> builder, String driverProperty)
+            throws IOException {
+        String path = System.getProperty(driverProperty);
+        if (path == null) return builder.build();
+
+        builder.usingDriverExecutable(new File(path));
+        S service = builder.build();
+        service.start();
+        return service;
+    }
+
+    /**
+     * Releases per-browser resources once a launched browser has quit.
+     */
+    static void afterQuit(WebDriver driver) {
+        ProfileTemplate.release(driver);
+        BrowserContextHost.release(driver);
+        RemoteNodeRouter.release(driver);
+        NetworkIdle.release(driver);
+        DriverStartupTiming.forget(driver);
+        NetworkBlocker.release(driver);
+    }
+
+    /**
+     * Registers an already running session (e.g. one leased from BrowserPool)
+     * as the caller's session.
+     */
+    static void registerSession(DriverSession session) {
+        sessions.put(sessionKey.get(), session);
+    }
+
+    /**
+     * Removes the caller's session from the registry without quitting it.
+     */
+    static DriverSession unregisterSession() {
+        return sessions.remove(sessionKey.get());
+    }
+
+    /**
+     * Removes {@code session} from the registry, whichever thread it is
+     * registered for, without quitting it.
+     */
+    static void unregisterSession(DriverSession session) {
+        sessions.values().remove(session);
+    }
+
+    /**
+     * Returns the caller's session, or null when none is open.
+     */
+    public static DriverSession getSession() {
+        return sessions.get(sessionKey.get());
+    }
+
+    /**
+     * Replaces a dead browser and applies the recycling policy to the
+     * caller's session. Invoked between tests by SessionLifecycleListener,
+     * never while a test is running.
+     */
+    public static void beforeTest(String nextTest) {
+        DriverSession session = getSession();
+        if (session != null) {
+            session.beforeTest(nextTest);
+        }
+    }
+
+    /**
+     * Returns a session to a clean, logged-out state on the base URL without
+     * relaunching the browser.
+     */
+    public static void resetSessionState(WebDriver driver) {
+        try {
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+        } catch (Exception e) {
+            logger.debug("[DEBUG] Unable to clear web storage: " + e.getMessage());
+        }
+        driver.manage().deleteAllCookies();
+        driver.get(ConfigReader.getUrl());
+        DriverSession session = getSession();
+        waitForDomReady(driver, session == null ? pageLoadStrategy.get() : session.getPageLoadStrategy());
+    }
+
+    /**
+     * With the NONE strategy get() returns before the document is parsed.
+     * Wait until it is, so page objects never query a half-loaded DOM. Page
+     * readiness beyond that is up to each page's PageReadiness condition.
+     */
+    private static void waitForDomReady(WebDriver driver, PageLoadStrategy strategy) {
+        if (strategy != PageLoadStrategy.NONE || !(driver instanceof JavascriptExecutor)) return;
+        new WebDriverWait(driver, Duration.ofSeconds(ConfigReader.getPageLoadTimeout()))
+                .until(d -> !"loading".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
+    }
+
+    /**
+     * Routes the caller's session to its lite (HtmlUnit) browser for the
+     * duration of one DOM-only test.
+     */
+    public static void routeToLite() {
+        DriverSession session = getSession();
+        if (session != null) {
+            session.routeToLite();
+        }
+    }
+
+    /**
+     * Routes the caller's session back to its real browser.
+     */
+    public static void routeToBrowser() {
+        DriverSession session = getSession();
+        if (session != null) {
+            session.routeToBrowser();
+        }
+    }
+
+    /**
+     * Binds the current thread to a test-scoped session key. Subsequent
+     * createDriver/getDriver/quitDriver calls on this thread use that key.
+     */
+    public static void useSessionKey(String key) {
+        if (key == null || key.isEmpty()) {
+            sessionKey.remove();
+        } else {
+            sessionKey.set(key);
+        }
+    }
+
+    /**
+     * Binds the current thread to a launch profile ("default" or "lean") for
+     * the sessions it opens from now on. Null restores browser.profile.
+     */
+    public static void useProfile(String profile) {
+        if (profile == null || profile.isEmpty()) {
+            launchProfile.remove();
+        } else {
+            launchProfile.set(profile);
+        }
+    }
+
+    public static String getProfile() {
+        return launchProfile.get();
+    }
+
+    /**
+     * Binds the current thread to a page-load strategy (normal, eager or
+     * none) for the sessions it opens from now on. Null restores
+     * page.load.strategy.
+     */
+    public static void usePageLoadStrategy(String strategy) {
+        PageLoadStrategy parsed = strategy == null ? null : PageLoadStrategy.fromString(strategy.trim().toLowerCase());
+        if (parsed == null) {
+            pageLoadStrategy.remove();
+        } else {
+            pageLoadStrategy.set(parsed);
+        }
+    }
+
+    public static PageLoadStrategy getPageLoadStrategy() {
+        return pageLoadStrategy.get();
+    }
+
+    public static String getSessionKey() {
+        return sessionKey.get();
+    }
+
     public static WebDriver getDriver() {
-        return driver;
+        DriverSession session = sessions.get(sessionKey.get());
+        return session == null ? null : session.getDriver();
+    }
+
+    /**
+     * Ends a test class's use of the caller's browser. With driver.scope=suite
+     * the session is kept for the next class on this thread, which resets it
+     * instead of launching a new browser; otherwise the browser is quit.
+     */
+    public static void releaseDriver() {
+        DriverSession session = getSession();
+        if (session == null) return;
+        if (ConfigReader.isSuiteScopedDriver() && !session.isDead()) {
+            session.markIdle();
+            logger.info("[INFO] Session '" + sessionKey.get() + "' kept for the next test class.");
+        } else {
+            quitDriver();
+        }
+    }
+
+    /**
+     * Resets a kept session for the next test class: cookies, web storage and
+     * the HTTP cache are cleared and the browser returns to the base URL. The
+     * browser is relaunched instead when the class asks for another launch
+     * profile or page-load strategy, or when the reset fails.
+     */
+    private static DriverSession reuseForNextClass(String key, DriverSession session) {
+        if (!session.getProfile().equals(launchProfile.get())
+                || session.getPageLoadStrategy() != pageLoadStrategy.get()) {
+            logger.info("[INFO] Next test class needs another launch profile or page-load strategy, relaunching.");
+            quitDriver();
+            return null;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            session.routeToBrowser();
+            clearBrowserCache(session.getTarget());
+            resetSessionState(session.getDriver());
+        } catch (Exception e) {
+            logger.warn("[WARNING] Between-class reset failed, relaunching: " + e.getMessage());
+            quitDriver();
+            return null;
+        }
+        long millis = System.currentTimeMillis() - start;
+        DriverStartupTiming.recordReset(millis);
+        logger.info("[INFO] Session '" + key + "' reset for the next test class in " + millis + " ms.");
+        return session;
+    }
+
+    /**
+     * Empties the HTTP cache of Chromium browsers through CDP. Other browsers
+     * have no equivalent command and keep their cache.
+     */
+    private static void clearBrowserCache(WebDriver driver) {
+        if (driver instanceof HasCdp) {
+            ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCache", Map.of());
+        }
     }
 
     public static void quitDriver() {
-        if (driver != null) {
-            driver.quit();
-            driver = null;
-            logger.info("[INFO] WebDriver closed successfully.");
+        String key = sessionKey.get();
+        DriverSession session = sessions.remove(key);
+        if (session != null) {
+            session.quit();
+            logger.info("[INFO] WebDriver closed successfully for session '" + key + "'.");
+        }
+    }
+
+    /**
+     * Closes every session that is still open. Called at suite end and from
+     * the JVM shutdown hook, so it must tolerate sessions that already died.
+     */
+    public static void quitAllDrivers() {
+        List<String> keys = new ArrayList<>(sessions.keySet());
+        for (String key : keys) {
+            DriverSession session = sessions.remove(key);
+            if (session == null) continue;
+            try {
+                session.quit();
+                logger.info("[INFO] WebDriver closed for leftover session '" + key + "'.");
+            } catch (Exception e) {
+                logger.warn("[WARNING] Unable to close session '" + key + "': " + e.getMessage());
+            }
         }
+        BrowserContextHost.shutdown();
+    }
+
+    public static Map<String, DriverSession> getActiveSessions() {
+        return Collections.unmodifiableMap(sessions);
     }
 }
@@ -62,6 +62,7 @@ public class BaseLocators {
 	public final By TELEPHONE_ERROR = By.xpath("//input[@id='input-telephone']/following-sibling::div");
 	public final By PASSWORD_ERROR = By.xpath("//input[@id='input-password']/following-sibling::div");
 	public final By CONFIRM_PASSWORD_ERROR = By.xpath("//input[@id='input-confirm']/following-sibling::div");
+	public final By FIELD_ERROR = By.cssSelector("#content .text-danger");
 
 	// Specific error messages
 	public final By FIRST_NAME_EMPTY_ERROR = By.xpath("//div[contains(text(), 'First Name must be between')]");
@@ -8,6 +8,7 @@ import org.apache.log4j.Logger;
 import org.apache.log4j.PropertyConfigurator;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.interactions.Actions;
+import org.testng.ITestContext;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
@@ -15,11 +16,13 @@ import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Listeners;
 import org.testng.asserts.SoftAssert;
 
+import com.opencart.utilities.BrowserPool;
 import com.opencart.utilities.ConfigReader;
 import com.opencart.utilities.ExcelUtils;
 import com.opencart.utilities.ExtentManager;
 import com.opencart.utilities.ExtentTestManager;
 import com.opencart.utilities.Log;
+import com.opencart.utilities.ReportPublishers;
 import com.opencart.utilities.TestListener;
 import com.opencart.utilities.AllureTestListener;
 import com.opencart.utilities.WaitUtils;
@@ -40,6 +43,8 @@ public class BaseTest {
 	public BaseLocators locators;
 	public CommonWrapper commonWrapper;
 
+	private boolean pooled;
+
 	@BeforeSuite(alwaysRun = true)
 	public void beforeSuite() {
 		try {
@@ -61,24 +66,34 @@ public class BaseTest {
 	@AfterSuite(alwaysRun = true)
 	public void afterSuite() {
 		try {
+			ReportPublishers.publishAll();
 			ExtentTestManager.flushReport();
 			logger.info("[INFO] Extent report flushed successfully.");
 		} catch (Exception e) {
 			logger.error("[ERROR] While flushing Extent report: " + e.getMessage(), e);
 		} finally {
-			if (driver != null) {
-				WebDriverFactory.quitDriver();
-			}
+			// Close every session still open, including those of other worker threads
+			BrowserPool.shutdownIfStarted();
+			WebDriverFactory.quitAllDrivers();
 		}
 	}
 
 	@BeforeClass(alwaysRun = true)
-	public void setupClass() throws IOException {
+	public void setupClass(ITestContext context) throws IOException {
 		try {
 			logger.info("[INFO] Starting test class setup...");
 
-			// Initialize WebDriver
-			driver = WebDriverFactory.createDriver(ConfigReader.getBrowser());
+			// A <suite>/<test> may pin its own launch profile or page-load strategy; pooled
+			// browsers are launched with the config.properties values, so those bypass the pool
+			String profile = context.getCurrentXmlTest().getParameter("browser.profile");
+			String pageLoadStrategy = context.getCurrentXmlTest().getParameter("page.load.strategy");
+			WebDriverFactory.useProfile(profile);
+			WebDriverFactory.usePageLoadStrategy(pageLoadStrategy);
+			pooled = ConfigReader.isPoolEnabled() && profile == null && pageLoadStrategy == null;
+
+			// Initialize WebDriver (leased from the warm pool when enabled)
+			driver = pooled ? BrowserPool.getInstance().lease()
+					: WebDriverFactory.createDriver(ConfigReader.getBrowser());
 			logger.info("[INFO] WebDriver initialized successfully");
 
 			// Initialize utilities
@@ -104,12 +119,24 @@ public class BaseTest {
 			logger.error("[ERROR] During test class setup: " + e.getMessage(), e);
 			// Clean up resources if setup fails
 			if (driver != null) {
-				WebDriverFactory.quitDriver();
+				releaseDriver();
 			}
 			throw new RuntimeException("Test class setup failed", e);
 		}
 	}
 
+	/**
+	 * Quit the class driver, return it to the browser pool when pooling is on,
+	 * or keep it for the next class when driver.scope=suite
+	 */
+	private void releaseDriver() {
+		if (pooled) {
+			BrowserPool.getInstance().release(driver);
+		} else {
+			WebDriverFactory.releaseDriver();
+		}
+	}
+
 	/**
 	 * Initialize Excel utilities with proper error handling
 	 */
@@ -147,9 +174,9 @@ public class BaseTest {
 				logger.info("[INFO] Soft assertions validated");
 			}
 
-			// Close WebDriver
+			// Close WebDriver (or hand it back to the pool)
 			if (driver != null) {
-				WebDriverFactory.quitDriver();
+				releaseDriver();
 				logger.info("[INFO] WebDriver closed successfiully");
 			}
 
@@ -19,6 +19,7 @@ import org.testng.Reporter;
 
 import com.opencart.utilities.ConfigReader;
 import com.opencart.utilities.ExtentTestManager;
+import com.opencart.utilities.PageReadiness;
 import com.opencart.utilities.WaitUtils;
 
 /**
@@ -283,7 +284,12 @@ public class CommonWrapper extends BaseTest {
 
 	public void reloadPage() {
 		driver.navigate().refresh();
-		WaitUtils.sleep(2000);
+		waitUtils.waitForNetworkIdle();
+	}
+
+	public void reloadPage(PageReadiness page) {
+		driver.navigate().refresh();
+		waitUtils.waitUntilUsable(page);
 	}
 
 	public void scrollToElement(WebElement element) {
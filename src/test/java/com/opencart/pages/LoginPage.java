@@ -2,26 +2,32 @@
 package com.opencart.pages;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.testng.asserts.SoftAssert;
 
 import com.opencart.base.BaseLocators;
 import com.opencart.base.BaseTest;
 import com.opencart.base.CommonWrapper;
+import com.opencart.utilities.ConfigReader;
 import com.opencart.utilities.ExtentTestManager;
+import com.opencart.utilities.PageReadiness;
 import com.opencart.utilities.ScreenshotUtils;
 import com.opencart.utilities.WaitUtils;
 
 /**
  * LoginPage - Handles navigation and actions on the Login page.
  */
-public class LoginPage extends BaseTest {
+public class LoginPage extends BaseTest implements PageReadiness {
 
 //    protected WebDriver driver;
 //    protected SoftAssert softAssert;
@@ -29,6 +35,12 @@ public class LoginPage extends BaseTest {
 //    protected BaseLocators locators;
 //    protected CommonWrapper commonWrapper;
 
+	static final String OUTCOME_ACCOUNT_PAGE = "account page";
+	static final String OUTCOME_WARNING_ALERT = "warning alert";
+
+	// Outcome of the last login submission, null if none showed in time
+	private String lastOutcome;
+
 	// Constructor
 	public LoginPage(WebDriver driver) {
 		this.driver = driver;
@@ -39,17 +51,28 @@ public class LoginPage extends BaseTest {
 //        this.commonWrapper = new CommonWrapper(driver, waitUtils, locators); // FIXED: Pass all parameters
 	}
 
+	/**
+	 * The login form can be filled in and submitted.
+	 */
+	@Override
+	public ExpectedCondition<?> usableWhen() {
+		return ExpectedConditions.and(ExpectedConditions.elementToBeClickable(locators.EMAIL_INPUT_FIELD),
+				ExpectedConditions.elementToBeClickable(locators.LOGIN_BUTTON));
+	}
+
 	/* ========== Navigation Methods ========== */
 
 	@Step("Navigate to login page via My Account dropdown")
 	public void navigateToLogin() {
 		ExtentTestManager.logInfo("[STEP] Navigating to Login page...");
+		lastOutcome = null;
 		try {
 			String currentURL = driver.getCurrentUrl();
 			ExtentTestManager.logInfo("Current page URL: " + currentURL);
 
 			WebElement accountDropdown = waitUtils.waitForElementToBeClickable(locators.MY_ACCOUNT_DROPDOWN);
 			accountDropdown.click();
+			waitUtils.waitForAjaxQuiescence();
 
 			if (!WaitUtils.isElementPresent(driver, locators.LOGOUT_LINK)) {
 				ExtentTestManager.logPass("Logged-out state detected. Opening Login page...");
@@ -57,12 +80,14 @@ public class LoginPage extends BaseTest {
 			} else {
 				ExtentTestManager.logInfo("Logged-in state detected. Logging out first...");
 				waitUtils.waitForElementToBeClickable(locators.LOGOUT_LINK).click();
-				WaitUtils.sleep(2000);
+				waitUtils.waitForNetworkIdle();
 
 				accountDropdown = waitUtils.waitForElementToBeClickable(locators.MY_ACCOUNT_DROPDOWN);
 				accountDropdown.click();
+				waitUtils.waitForAjaxQuiescence();
 				waitUtils.waitForElementToBeClickable(locators.LOGIN_LINK).click();
 			}
+			waitUtils.waitUntilUsable(this);
 
 			ExtentTestManager.logPass("Navigated to Login page successfully.");
 		} catch (Exception e) {
@@ -102,6 +127,7 @@ public class LoginPage extends BaseTest {
 	        }
 	        
 	        commonWrapper.clickWhenVisible(locators.LOGIN_BUTTON); // Use LOGIN_BUTTON instead of LOGIN_LINK
+	        awaitLoginOutcome();
 	        
 	        ExtentTestManager.logPass("Login attempt completed.");
 	    } catch (Exception e) {
@@ -125,6 +151,7 @@ public class LoginPage extends BaseTest {
 			// Tab to login button and press Enter
 			passwordField.sendKeys(org.openqa.selenium.Keys.TAB);
 			driver.switchTo().activeElement().sendKeys(org.openqa.selenium.Keys.ENTER);
+			awaitLoginOutcome();
 
 			ExtentTestManager.logPass("Keyboard navigation login completed.");
 		} catch (Exception e) {
@@ -138,10 +165,32 @@ public class LoginPage extends BaseTest {
 		for (int i = 1; i <= attempts; i++) {
 			ExtentTestManager.logInfo("Login attempt " + i + " of " + attempts);
 			login(email, password);
-			WaitUtils.sleep(1000);
+			waitUtils.waitForNetworkIdle();
 		}
 	}
 
+	/**
+	 * Races the account page against the warning alert after a submission, so
+	 * the checks below know which one to expect without waiting for the other.
+	 * Bounded by short.timeout: some submits show neither (HTML5 validation
+	 * blocking the form), and then the checks fall back to their own waits.
+	 */
+	private void awaitLoginOutcome() {
+		Map<String, By> outcomes = new LinkedHashMap<>();
+		outcomes.put(OUTCOME_ACCOUNT_PAGE, locators.ACCOUNT_PAGE_HEADING);
+		outcomes.put(OUTCOME_WARNING_ALERT, locators.WARNING_ALERT);
+		lastOutcome = waitUtils.waitForFirstOutcome(outcomes, ConfigReader.getShortTimeout());
+		ExtentTestManager.logInfo("Login outcome: " + (lastOutcome == null ? "none" : lastOutcome));
+	}
+
+	/**
+	 * True when the last submission is known to have reached the account page,
+	 * in which case there is no warning to wait for.
+	 */
+	private boolean reachedAccountPage() {
+		return OUTCOME_ACCOUNT_PAGE.equals(lastOutcome);
+	}
+
 	/* ========== Validation Methods ========== */
 
 	@Step("Verify login success")
@@ -162,6 +211,10 @@ public class LoginPage extends BaseTest {
 
 	@Step("Verify login failure warning message")
 	public boolean isLoginWarningDisplayed() {
+		if (reachedAccountPage()) {
+			ExtentTestManager.logInfo("No warning message displayed");
+			return false;
+		}
 		try {
 			WebElement warning = waitUtils.waitForElementToBeVisible(locators.WARNING_ALERT, 5);
 			boolean isDisplayed = warning.isDisplayed();
@@ -176,6 +229,10 @@ public class LoginPage extends BaseTest {
 
 	@Step("Get login warning message text")
 	public String getWarningMessage() {
+		if (reachedAccountPage()) {
+			ExtentTestManager.logInfo("No warning message displayed");
+			return "";
+		}
 		try {
 			WebElement warning = waitUtils.waitForElementToBeVisible(locators.WARNING_ALERT, 5);
 			String message = warning.getText().trim();
@@ -189,6 +246,9 @@ public class LoginPage extends BaseTest {
 
 	@Step("Verify account locked warning message")
 	public boolean isAccountLockedWarningDisplayed() {
+		if (reachedAccountPage()) {
+			return false;
+		}
 		try {
 			WebElement warning = waitUtils.waitForElementToBeVisible(locators.WARNING_ALERT, 5);
 			String warningText = warning.getText();
@@ -373,11 +433,12 @@ public class LoginPage extends BaseTest {
 
 	@Step("Logout user")
 	public void logout() {
+		lastOutcome = null;
 		try {
 			commonWrapper.clickWhenVisible(locators.MY_ACCOUNT_DROPDOWN);
-			WaitUtils.sleep(1000);
+			waitUtils.waitForAjaxQuiescence();
 			commonWrapper.clickWhenVisible(locators.LOGOUT_LINK);
-			WaitUtils.sleep(2000);
+			waitUtils.waitForNetworkIdle();
 			ScreenshotUtils.capturedScreenshot(driver, "Logged out Successful screenshot");
 			ExtentTestManager.logPass("User logged out successfully.");
 		} catch (Exception e) {
@@ -429,7 +490,7 @@ public class LoginPage extends BaseTest {
 	public void useBrowserBackButton() {
 		try {
 			driver.navigate().back();
-			WaitUtils.sleep(2000);
+			waitUtils.waitForNetworkIdle();
 			ExtentTestManager.logPass("Browser back button used.");
 		} catch (Exception e) {
 			ExtentTestManager.logFail("Error using browser back button: " + e.getMessage(), driver);
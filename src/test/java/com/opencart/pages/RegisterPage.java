@@ -3,26 +3,33 @@ package com.opencart.pages;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.testng.Reporter;
 import org.testng.asserts.SoftAssert;
 
 import com.opencart.base.BaseLocators;
 import com.opencart.base.BaseTest;
 import com.opencart.base.CommonWrapper;
+import com.opencart.utilities.ConfigReader;
+import com.opencart.utilities.ElementSnapshot;
 import com.opencart.utilities.ExtentTestManager;
+import com.opencart.utilities.PageReadiness;
 import com.opencart.utilities.WaitUtils;
 
 /**
  * RegisterPage - Handles navigation and actions on the Register page.
  */
-public class RegisterPage extends BaseTest{
+public class RegisterPage extends BaseTest implements PageReadiness {
 
 //	protected WebDriver driver;
 //	protected SoftAssert softAssert;
@@ -32,6 +39,13 @@ public class RegisterPage extends BaseTest{
 
 	protected String email;
 
+	static final String OUTCOME_ACCOUNT_CREATED = "account created";
+	static final String OUTCOME_WARNING_ALERT = "warning alert";
+	static final String OUTCOME_FIELD_ERROR = "field error";
+
+	// Outcome of the last form submission, null if none showed in time
+	private String lastOutcome;
+
 	// Constructor
 	public RegisterPage(WebDriver driver) {
 		this.driver = driver;
@@ -42,6 +56,15 @@ public class RegisterPage extends BaseTest{
 //		this.commonWrapper = new CommonWrapper(driver, waitUtils, locators); // FIXED: Pass all parameters
 	}
 
+	/**
+	 * The registration form is rendered down to its submit button.
+	 */
+	@Override
+	public ExpectedCondition<?> usableWhen() {
+		return ExpectedConditions.and(ExpectedConditions.elementToBeClickable(locators.FIRST_NAME_INPUT_FIELD),
+				ExpectedConditions.presenceOfElementLocated(locators.SUBMIT_BUTTON));
+	}
+
 	/* === Data-Driven & UI Validation Methods (from first version) === */
 
 	/**
@@ -156,12 +179,14 @@ public class RegisterPage extends BaseTest{
     @Step("Navigate to registartion page")
 	public void navigateToRegister() {
 		ExtentTestManager.logInfo("[STEP] Navigating to Register page...");
+		lastOutcome = null;
 		try {
 			String currentURL = driver.getCurrentUrl();
 			ExtentTestManager.logInfo("Current page URL: " + currentURL);
 
 			WebElement accountDropdown = waitUtils.waitForElementToBeClickable(locators.MY_ACCOUNT_DROPDOWN);
 			accountDropdown.click();
+			waitUtils.waitForAjaxQuiescence();
 
 			if (!WaitUtils.isElementPresent(driver, locators.LOGOUT_LINK)) {
 				ExtentTestManager.logPass("Logged-out state detected. Opening Register page...");
@@ -169,13 +194,15 @@ public class RegisterPage extends BaseTest{
 			} else {
 				ExtentTestManager.logInfo("Logged-in state detected. Logging out first...");
 				waitUtils.waitForElementToBeClickable(locators.LOGOUT_LINK).click();
-				WaitUtils.sleep(2000);
+				waitUtils.waitForNetworkIdle();
 
 				accountDropdown = waitUtils.waitForElementToBeClickable(locators.MY_ACCOUNT_DROPDOWN);
 
 				accountDropdown.click();
+				waitUtils.waitForAjaxQuiescence();
 				waitUtils.waitForElementToBeClickable(locators.REGISTER_LINK).click();
 			}
+			waitUtils.waitUntilUsable(this);
 
 			ExtentTestManager.logPass("Navigated to Register page successfully.");
 		} catch (Exception e) {
@@ -247,6 +274,23 @@ public class RegisterPage extends BaseTest{
 	public void clickContinue() {
 		commonWrapper.clickWhenVisible(locators.CONTINUE_BUTTON);
 		ExtentTestManager.logInfo("Clicked Continue button.");
+		awaitSubmitOutcome();
+	}
+
+	/**
+	 * Races the success page against the warning alert and the field errors
+	 * after a submission, so negative paths do not wait out the success
+	 * message's timeout.
+	 * Bounded by short.timeout: some submits show neither (HTML5 validation
+	 * blocking the form), and then the checks fall back to their own waits.
+	 */
+	private void awaitSubmitOutcome() {
+		Map<String, By> outcomes = new LinkedHashMap<>();
+		outcomes.put(OUTCOME_ACCOUNT_CREATED, locators.SUCCESS_MESSAGE);
+		outcomes.put(OUTCOME_WARNING_ALERT, locators.WARNING_ALERT);
+		outcomes.put(OUTCOME_FIELD_ERROR, locators.FIELD_ERROR);
+		lastOutcome = waitUtils.waitForFirstOutcome(outcomes, ConfigReader.getShortTimeout());
+		ExtentTestManager.logInfo("Registration outcome: " + (lastOutcome == null ? "none" : lastOutcome));
 	}
 
 	/* ===== Test-Specific Actions (from second version) ===== */
@@ -351,17 +395,21 @@ public class RegisterPage extends BaseTest{
     @Step("Validate error messages")
 	public void validateErrorMessages(List<By> errorLocators, List<String> expectedMessages,
 			List<String> actualErrors) {
+		// Read every locator at once; most are absent, and waiting for each would cost a full explicit wait
+		Map<String, By> byName = new LinkedHashMap<>();
+		for (By locator : errorLocators) {
+			byName.put(locator.toString(), locator);
+		}
+		Map<String, String> shown = ElementSnapshot.visibleTexts(driver, byName);
+
 		for (int i = 0; i < errorLocators.size(); i++) {
 			By locator = errorLocators.get(i);
 			String expected = expectedMessages.get(i);
 
-			try {
-				String actualText = commonWrapper.getElementText(locator);
-				if (!actualText.isEmpty()) {
-					boolean found = actualErrors.stream().anyMatch(error -> error.contains(expected.split(" ")[0]));
-					softAssert.assertTrue(found, "Expected error not found: " + expected);
-				}
-			} catch (Exception e) {
+			if (shown.containsKey(locator.toString())) {
+				boolean found = actualErrors.stream().anyMatch(error -> error.contains(expected.split(" ")[0]));
+				softAssert.assertTrue(found, "Expected error not found: " + expected);
+			} else {
 				ExtentTestManager.logInfo("Error message not found for locator: " + locator);
 			}
 		}
@@ -419,8 +467,8 @@ public class RegisterPage extends BaseTest{
 			String emailValue = driver.findElement(locators.EMAIL_INPUT_FIELD).getAttribute("value");
 			ExtentTestManager.logInfo("Email field value: '" + emailValue + "'");
 
-			// Wait a moment for any validation to trigger
-			WaitUtils.sleep(1000);
+			// Let any validation triggered by the submit finish
+			waitUtils.waitForAjaxQuiescence();
 
 			boolean validationFound = false;
 
@@ -512,8 +560,8 @@ public class RegisterPage extends BaseTest{
 	        String phoneValue = driver.findElement(locators.TELEPHONE_INPUT_FIELD).getAttribute("value");
 	        ExtentTestManager.logInfo("Phone field value: '" + phoneValue + "'");
 	        
-	        // Wait for potential errors to appear
-	        waitUtils.sleep(2000);
+	        // Let any validation triggered by the submit finish
+	        waitUtils.waitForAjaxQuiescence();
 	        
 	        boolean validationFound = false;
 	        
@@ -570,26 +618,38 @@ public class RegisterPage extends BaseTest{
 	}
 
 	/* ===== Utility Methods ===== */
+	/**
+	 * Field -> message for every field error and the warning alert currently
+	 * shown, read in a single script call once the form response has rendered.
+	 * Keys: firstname, lastname, email, telephone, password, confirm, warning.
+	 */
+    @Step("Read form error snapshot")
+	public Map<String, String> getErrorSnapshot() {
+		waitUtils.waitForAjaxQuiescence();
+		Map<String, By> errorLocators = new LinkedHashMap<>();
+		errorLocators.put("firstname", locators.FIRST_NAME_ERROR);
+		errorLocators.put("lastname", locators.LAST_NAME_ERROR);
+		errorLocators.put("email", locators.EMAIL_ERROR);
+		errorLocators.put("telephone", locators.TELEPHONE_ERROR);
+		errorLocators.put("password", locators.PASSWORD_ERROR);
+		errorLocators.put("confirm", locators.CONFIRM_PASSWORD_ERROR);
+		errorLocators.put("warning", locators.WARNING_ALERT);
+		try {
+			Map<String, String> errors = ElementSnapshot.visibleTexts(driver, errorLocators);
+			ExtentTestManager.logInfo("Form errors: " + errors);
+			return errors;
+		} catch (Exception e) {
+			ExtentTestManager.logInfo("Unable to read form errors: " + e.getMessage());
+			return new LinkedHashMap<>();
+		}
+	}
+
 	/**
 	 * Get error messages for validation
 	 */
     @Step("Get all error messages from the form")
 	public List<String> getErrorMessages() {
-		List<String> errors = new ArrayList<>();
-		List<By> errorLocators = Arrays.asList(locators.FIRST_NAME_ERROR, locators.LAST_NAME_ERROR,
-				locators.EMAIL_ERROR, locators.TELEPHONE_ERROR, locators.PASSWORD_ERROR,
-				locators.CONFIRM_PASSWORD_ERROR, locators.WARNING_ALERT);
-		for (By locator : errorLocators) {
-			try {
-				String errorText = commonWrapper.getElementText(locator);
-				if (!errorText.isEmpty()) {
-					errors.add(errorText.trim());
-				}
-			} catch (Exception e) {
-				// Ignore if element not found
-			}
-		}
-		return errors;
+		return new ArrayList<>(getErrorSnapshot().values());
 	}
 
 	/**
@@ -612,6 +672,10 @@ public class RegisterPage extends BaseTest{
 	public boolean isRegistrationSuccess() {
 		try {
 			ExtentTestManager.logInfo("[STEP] Validating registration success message...");
+			if (OUTCOME_WARNING_ALERT.equals(lastOutcome) || OUTCOME_FIELD_ERROR.equals(lastOutcome)) {
+				ExtentTestManager.logInfo("Registration rejected: " + lastOutcome + " displayed.");
+				return false;
+			}
 			String actualMsg = commonWrapper.getElementText(locators.SUCCESS_MESSAGE);
 			ExtentTestManager.logPass("Success message displayed: " + actualMsg);
 //			return actualMsg.equalsIgnoreCase("Your Account Has Been Created!");
@@ -666,16 +730,16 @@ public class RegisterPage extends BaseTest{
 				// Click continue button on success page
 				if (WaitUtils.isElementPresent(driver, locators.CONTINUE_LINK_BUTTON)) {
 					commonWrapper.clickWhenVisible(locators.CONTINUE_LINK_BUTTON);
-					WaitUtils.sleep(3000);
+					waitUtils.waitForNetworkIdle();
 				}
 
 				// Logout
 				commonWrapper.clickWhenVisible(locators.MY_ACCOUNT_DROPDOWN);
-				WaitUtils.sleep(1000);
+				waitUtils.waitForAjaxQuiescence();
 
 				if (WaitUtils.isElementPresent(driver, locators.LOGOUT_LINK)) {
 					commonWrapper.clickWhenVisible(locators.LOGOUT_LINK);
-					WaitUtils.sleep(2000);
+					waitUtils.waitForNetworkIdle();
 				}
 
 				// Click continue after logout
@@ -9,7 +9,7 @@ import com.opencart.pages.LoginPage;
 import com.opencart.utilities.ConfigReader;
 import com.opencart.utilities.DataProviders;
 import com.opencart.utilities.ExtentTestManager;
-import com.opencart.utilities.WaitUtils;
+import com.opencart.utilities.LiteBrowser;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
@@ -116,7 +116,7 @@ public class LoginTests extends BaseTest {
 			loginPage.login(email, password);
 
 			softAssert.assertTrue(loginPage.isLoginSuccessful(), "Login should be successful with valid credentials");
-			WaitUtils.sleep(5000);
+			waitUtils.waitForNetworkIdle();
 			softAssert.assertTrue(loginPage.isAccountPageDisplayed(), "User should be on account page after login");
 
 			loginPage.logout();
@@ -141,7 +141,7 @@ public class LoginTests extends BaseTest {
 			loginPage.login(VALID_EMAIL, VALID_PASSWORD);
 
 			softAssert.assertTrue(loginPage.isLoginSuccessful(), "Login should be successful with valid credentials");
-			WaitUtils.sleep(5000);
+			waitUtils.waitForNetworkIdle();
 			softAssert.assertTrue(loginPage.isAccountPageDisplayed(), "User should be on account page after login");
 
 			loginPage.logout();
@@ -332,6 +332,7 @@ public class LoginTests extends BaseTest {
 	@Description("Verify that all input fields have correct placeholder texts according to design specifications")
 	@Severity(SeverityLevel.TRIVIAL)
 	@Story("TC_RF_002-TS_009")
+	@LiteBrowser
 	public void testPlaceholderTexts() {
 		ExtentTestManager.startTest("TC_RF_002-TS_009",
 				"Validate that the email address and password fields have proper placeholder text.");
@@ -443,6 +444,7 @@ public class LoginTests extends BaseTest {
 	@Description("Verify that text entered in password field is hidden and displayed as asterisks or dots for security")
 	@Severity(SeverityLevel.NORMAL)
 	@Story("TC_RF_002-TS_013")
+	@LiteBrowser
 	public void testPasswordMasking() {
 		ExtentTestManager.startTest("TC_RF_002-TS_013",
 				"Validate that the text entered in the password field is hidden (masked).");
@@ -494,6 +496,7 @@ public class LoginTests extends BaseTest {
 	@Description("Verify that password text is not exposed in HTML page source code for security reasons")
 	@Severity(SeverityLevel.CRITICAL)
 	@Story("TC_RF_002-TS_015")
+	@LiteBrowser
 	public void testPasswordNotInSource() {
 		ExtentTestManager.startTest("TC_RF_002-TS_015",
 				"Validate that the password is not visible in the page source.");
@@ -630,6 +633,7 @@ public class LoginTests extends BaseTest {
 	@Description("Verify page breadcrumb, heading, URL, and title are correct")
 	@Severity(SeverityLevel.TRIVIAL)
 	@Story("TC_RF_002-TS_021")
+	@LiteBrowser
 	public void testPageMetadata() {
 		ExtentTestManager.startTest("TC_RF_002-TS_021",
 				"Validate the breadcrumb, page heading, page title, and page URL of the login page.");
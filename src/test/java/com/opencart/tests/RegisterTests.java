@@ -13,6 +13,7 @@ import com.opencart.base.BaseTest;
 import com.opencart.pages.RegisterPage;
 import com.opencart.utilities.DataProviders;
 import com.opencart.utilities.ExtentTestManager;
+import com.opencart.utilities.LiteBrowser;
 import com.opencart.utilities.WaitUtils;
 
 /**
@@ -74,6 +75,7 @@ public class RegisterTests extends BaseTest {
 	@Description("Verify that all input fields have correct placeholder texts")
 	@Severity(SeverityLevel.TRIVIAL)
 	@Story("TC_RF_001-TS_001")
+	@LiteBrowser
 	public void testPlaceholderTexts() {
 		ExtentTestManager.startTest("TC_RF_001-TS_001",
 				"Validate that all fields in the Register Account page contain appropriate placeholder text.");
@@ -114,6 +116,7 @@ public class RegisterTests extends BaseTest {
 	@Description("Verify page breadcrumb, heading, URL, and title are correct")
 	@Severity(SeverityLevel.TRIVIAL)
 	@Story("TC_RF_001-TS_003")
+	@LiteBrowser
 	public void testPageMetadata() {
 		ExtentTestManager.startTest("TC_RF_001-TS_003",
 				"Validate the breadcrumb, page heading, page URL, and page title of the 'Register Account' page.");
@@ -251,8 +254,8 @@ public class RegisterTests extends BaseTest {
 			registerPage.navigateToRegister();
 			registerPage.clickContinueWithoutData();
 
-			// Wait a moment for errors to appear
-			waitUtils.sleep(2000);
+			// Wait for the validation response
+			waitUtils.waitForNetworkIdle();
 
 			// Verify error messages are displayed
 			List<String> errors = registerPage.getErrorMessages();
@@ -297,7 +300,7 @@ public class RegisterTests extends BaseTest {
 			registerPage.agreePrivacyPolicy();
 			registerPage.clickContinue();
 
-			waitUtils.sleep(2000);
+			waitUtils.waitForNetworkIdle();
 
 			registerPage.verifyMandatoryFieldErrors();
 			ExtentTestManager.logPass("Space-only input validation completed");
@@ -413,8 +416,8 @@ public class RegisterTests extends BaseTest {
 			registerPage.agreePrivacyPolicy();
 			registerPage.clickContinue();
 
-			// Wait a bit for response
-			waitUtils.sleep(3000);
+			// Wait for response
+			waitUtils.waitForNetworkIdle();
 
 			// Check if registration failed (which indicates password complexity
 			// enforcement)
@@ -717,7 +720,7 @@ public class RegisterTests extends BaseTest {
 			registerPage.registerWithData(firstName, lastName, email, phone, password, confirmPassword, privacyPolicy);
 
 			// Wait for response
-			waitUtils.sleep(3000);
+			waitUtils.waitForNetworkIdle();
 
 			// Check if registration failed
 			boolean isSuccess = registerPage.isRegistrationSuccess();
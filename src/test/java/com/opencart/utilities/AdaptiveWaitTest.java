@@ -0,0 +1,45 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/test/java/com/opencart/utilities/AdaptiveWaitTest.java */
+
+package com.opencart.utilities;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+public class AdaptiveWaitTest {
+
+	@Test
+	public void intervalStaysFlatInsideFastWindow() {
+		assertEquals(AdaptiveWait.nextInterval(50, 0, 1000), 50);
+		assertEquals(AdaptiveWait.nextInterval(50, 299, 1000), 50);
+	}
+
+	@Test
+	public void intervalDoublesAfterFastWindow() {
+		assertEquals(AdaptiveWait.nextInterval(50, 300, 1000), 100);
+		assertEquals(AdaptiveWait.nextInterval(400, 2000, 1000), 800);
+	}
+
+	@Test
+	public void intervalIsCappedAtMax() {
+		assertEquals(AdaptiveWait.nextInterval(800, 5000, 1000), 1000);
+		assertEquals(AdaptiveWait.nextInterval(1000, 5000, 1000), 1000);
+	}
+
+	@Test
+	public void scheduleBacksOffToMax() {
+		long interval = 50;
+		long elapsed = 0;
+		List<Long> pauses = new ArrayList<>();
+		while (elapsed < 3000) {
+			interval = AdaptiveWait.nextInterval(interval, elapsed, 1000);
+			pauses.add(interval);
+			elapsed += interval;
+		}
+		assertEquals(pauses, Arrays.asList(50L, 50L, 50L, 50L, 50L, 50L, 100L, 200L, 400L, 800L, 1000L, 1000L));
+	}
+}
@@ -0,0 +1,54 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/test/java/com/opencart/utilities/LearnedTimeoutsTest.java */
+
+package com.opencart.utilities;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+public class LearnedTimeoutsTest {
+
+	private static final long MIN = 2_000;
+	private static final long MAX = 60_000;
+
+	private static List<Long> durations(long... millis) {
+		List<Long> list = new ArrayList<>();
+		for (long m : millis) list.add(m);
+		return list;
+	}
+
+	@Test
+	public void tooFewSamplesLearnNothing() {
+		assertNull(LearnedTimeouts.learned(null, 95, 1000, MIN, MAX));
+		assertNull(LearnedTimeouts.learned(durations(3000, 3000, 3000, 3000), 95, 1000, MIN, MAX));
+	}
+
+	@Test
+	public void percentileUsesNearestRankPlusMargin() {
+		List<Long> history = new ArrayList<>();
+		for (long i = 1; i <= 20; i++) history.add(i * 1000);
+		// 95th percentile of 20 samples is the 19th smallest
+		assertEquals(LearnedTimeouts.learned(history, 95, 500, MIN, MAX), Long.valueOf(19_500));
+		assertEquals(LearnedTimeouts.learned(history, 50, 0, MIN, MAX), Long.valueOf(10_000));
+		assertEquals(LearnedTimeouts.learned(history, 100, 0, MIN, MAX), Long.valueOf(20_000));
+	}
+
+	@Test
+	public void orderOfSamplesDoesNotMatter() {
+		List<Long> history = durations(9000, 3000, 7000, 5000, 4000);
+		assertEquals(LearnedTimeouts.learned(history, 95, 0, MIN, MAX), Long.valueOf(9000));
+		assertEquals(history, Arrays.asList(9000L, 3000L, 7000L, 5000L, 4000L), "history must not be reordered");
+	}
+
+	@Test
+	public void learnedTimeoutIsClampedToBounds() {
+		assertEquals(LearnedTimeouts.learned(durations(100, 120, 90, 110, 100), 95, 200, MIN, MAX), Long.valueOf(MIN));
+		assertEquals(LearnedTimeouts.learned(durations(90_000, 80_000, 70_000, 95_000, 85_000), 95, 1000, MIN, MAX),
+				Long.valueOf(MAX));
+	}
+}
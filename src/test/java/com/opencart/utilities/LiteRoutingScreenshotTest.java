@@ -0,0 +1,158 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/test/java/com/opencart/utilities/LiteRoutingScreenshotTest.java */
+
+package com.opencart.utilities;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.testng.IInvokedMethod;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.testng.internal.ConstructorOrMethod;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+/**
+ * Fails a lite test and a browser test through SessionLifecycleListener, in
+ * TestNG's order (beforeInvocation, test body, afterInvocation, then the
+ * failure listeners), and checks which screenshot a failure listener
+ * attaches. The real browser is a stub whose screenshot is a marker string.
+ */
+public class LiteRoutingScreenshotTest {
+
+	private static final String REAL_BROWSER_PAGE = "real browser page";
+
+	private final SessionLifecycleListener listener = new SessionLifecycleListener();
+	private DriverSession session;
+
+	/** Test bodies the listener routes; only their annotations matter. */
+	public static class DomOnlyTests {
+
+		@LiteBrowser
+		public void readsPageSource() {
+		}
+
+		public void clicksThrough() {
+		}
+	}
+
+	@BeforeMethod
+	public void openSession() {
+		WebDriverFactory.useSessionKey("lite-routing-screenshot-test");
+		session = new DriverSession("chrome", "default", PageLoadStrategy.NORMAL, stubBrowser());
+		WebDriverFactory.registerSession(session);
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void closeSession() {
+		WebDriverFactory.unregisterSession(session);
+		session.quit();
+		WebDriverFactory.useSessionKey(null);
+	}
+
+	@Test
+	public void failedLiteTestGetsNoRealBrowserScreenshot() throws Exception {
+		ITestResult result = failThrough("readsPageSource", "true");
+		assertTrue(SessionLifecycleListener.ranOnLite(result));
+		assertFalse(session.isRoutedToLite(), "afterInvocation routes back before the failure listeners run");
+		assertEquals(attachedScreenshot(result), "none");
+	}
+
+	@Test
+	public void failedBrowserTestGetsBrowserScreenshot() throws Exception {
+		ITestResult result = failThrough("clicksThrough", "true");
+		assertFalse(SessionLifecycleListener.ranOnLite(result));
+		assertEquals(attachedScreenshot(result), REAL_BROWSER_PAGE);
+	}
+
+	@Test
+	public void liteTestStaysOnBrowserUnlessRoutingIsEnabled() throws Exception {
+		ITestResult result = failThrough("readsPageSource", null);
+		assertFalse(SessionLifecycleListener.ranOnLite(result));
+		assertEquals(attachedScreenshot(result), REAL_BROWSER_PAGE);
+	}
+
+	/**
+	 * Runs the listener around a failing invocation of {@code methodName},
+	 * with the lite.routing test parameter set to {@code liteRouting}.
+	 */
+	private ITestResult failThrough(String methodName, String liteRouting) throws Exception {
+		XmlTest xmlTest = new XmlTest(new XmlSuite());
+		if (liteRouting != null) xmlTest.addParameter("lite.routing", liteRouting);
+		ITestContext context = stub(ITestContext.class, Map.of("getCurrentXmlTest", xmlTest));
+
+		Map<String, Object> attributes = new HashMap<>();
+		ITestResult result = (ITestResult) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { ITestResult.class }, (proxy, method, args) -> {
+					switch (method.getName()) {
+						case "getTestContext":
+							return context;
+						case "setAttribute":
+							return attributes.put((String) args[0], args[1]);
+						case "getAttribute":
+							return attributes.get(args[0]);
+						default:
+							return null;
+					}
+				});
+
+		ITestNGMethod testMethod = stub(ITestNGMethod.class, Map.of(
+				"getQualifiedName", DomOnlyTests.class.getName() + "." + methodName,
+				"getConstructorOrMethod", new ConstructorOrMethod(DomOnlyTests.class.getMethod(methodName)),
+				"getGroups", new String[0]));
+		IInvokedMethod invoked = stub(IInvokedMethod.class, Map.of("isTestMethod", true, "getTestMethod", testMethod));
+
+		listener.beforeInvocation(invoked, result);
+		listener.afterInvocation(invoked, result);
+		return result;
+	}
+
+	/** The screenshot TestListener and AllureTestListener would attach for {@code result}. */
+	private String attachedScreenshot(ITestResult result) {
+		WebDriver driver = WebDriverFactory.getDriver();
+		if (!ScreenshotUtils.supportsScreenshots(driver, result)) return "none";
+		return new String(((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES), StandardCharsets.UTF_8);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T stub(Class<T> type, Map<String, Object> answers) {
+		return (T) Proxy.newProxyInstance(LiteRoutingScreenshotTest.class.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> answers.get(method.getName()));
+	}
+
+	private static WebDriver stubBrowser() {
+		return (WebDriver) Proxy.newProxyInstance(LiteRoutingScreenshotTest.class.getClassLoader(),
+				new Class<?>[] { WebDriver.class, TakesScreenshot.class }, (proxy, method, args) -> {
+					switch (method.getName()) {
+						case "getScreenshotAs":
+							return ((OutputType<?>) args[0]).convertFromBase64Png(Base64.getEncoder()
+									.encodeToString(REAL_BROWSER_PAGE.getBytes(StandardCharsets.UTF_8)));
+						case "getWindowHandle":
+							return "stub";
+						case "toString":
+							return "StubBrowser";
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						case "equals":
+							return proxy == args[0];
+						default:
+							return null;
+					}
+				});
+	}
+}
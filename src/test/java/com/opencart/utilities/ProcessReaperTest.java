@@ -0,0 +1,56 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/test/java/com/opencart/utilities/ProcessReaperTest.java */
+
+package com.opencart.utilities;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+public class ProcessReaperTest {
+
+	private static final ProcessHandle SELF = ProcessHandle.current();
+
+	@Test
+	public void matchesLiveProcessWithSameStartTime() {
+		Optional<ProcessHandle> match = ProcessReaper.match(ProcessReaper.describe(SELF));
+		assertTrue(match.isPresent());
+		assertEquals(match.get().pid(), SELF.pid());
+	}
+
+	@Test
+	public void reusedPidWithDifferentStartTimeDoesNotMatch() {
+		long started = SELF.info().startInstant().map(i -> i.toEpochMilli()).orElse(-1L);
+		if (started < 0) return; // the OS does not report start times, so the command decides
+		assertFalse(ProcessReaper.match(SELF.pid() + " " + (started - 60_000) + " /usr/bin/chromedriver").isPresent());
+	}
+
+	@Test
+	public void unknownStartTimeFallsBackToCommand() {
+		String command = SELF.info().command().orElse("");
+		if (command.isEmpty()) return;
+		assertTrue(ProcessReaper.match(SELF.pid() + " -1 " + command).isPresent());
+		assertFalse(ProcessReaper.match(SELF.pid() + " -1 /usr/bin/chromedriver").isPresent());
+		assertFalse(ProcessReaper.match(SELF.pid() + " -1").isPresent());
+	}
+
+	@Test
+	public void exitedProcessDoesNotMatch() throws Exception {
+		Process process = new ProcessBuilder(SELF.info().command().orElse("java"), "-version").start();
+		String line = ProcessReaper.describe(process.toHandle());
+		assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+		assertFalse(ProcessReaper.match(line).isPresent());
+	}
+
+	@Test
+	public void malformedLinesDoNotMatch() {
+		assertFalse(ProcessReaper.match("").isPresent());
+		assertFalse(ProcessReaper.match("1234").isPresent());
+		assertFalse(ProcessReaper.match("abc 123 chrome").isPresent());
+		assertFalse(ProcessReaper.match("1234 notanumber chrome").isPresent());
+	}
+}
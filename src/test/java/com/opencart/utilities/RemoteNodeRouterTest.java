@@ -0,0 +1,64 @@
+/* /OpenCart-HybridFramework-Selenium-TestNG-Java-Maven/src/test/java/com/opencart/utilities/RemoteNodeRouterTest.java */
+
+package com.opencart.utilities;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.opencart.utilities.RemoteNodeRouter.Node;
+
+public class RemoteNodeRouterTest {
+
+	private static Node node(String url, int active, double latencyMillis) throws IOException {
+		Node node = new Node(new URL(url));
+		node.active = active;
+		node.recentLatencyMillis = latencyMillis;
+		return node;
+	}
+
+	@Test
+	public void prefersFewestSessions() throws IOException {
+		Node busy = node("http://a:4444", 2, 10);
+		Node idle = node("http://b:4444", 0, 500);
+		Map<Node, Integer> candidates = new LinkedHashMap<>();
+		candidates.put(busy, 0);
+		candidates.put(idle, 0);
+		assertSame(RemoteNodeRouter.leastLoaded(candidates), idle);
+	}
+
+	@Test
+	public void busySlotsReportedByNodeCountAsLoad() throws IOException {
+		Node sharedNode = node("http://a:4444", 0, 10);
+		Node ours = node("http://b:4444", 1, 10);
+		Map<Node, Integer> candidates = new LinkedHashMap<>();
+		// Another run holds three sessions on the first node
+		candidates.put(sharedNode, 3);
+		candidates.put(ours, 1);
+		assertSame(RemoteNodeRouter.leastLoaded(candidates), ours);
+	}
+
+	@Test
+	public void latencyBreaksTies() throws IOException {
+		Node slow = node("http://a:4444", 1, 300);
+		Node fast = node("http://b:4444", 1, 40);
+		Map<Node, Integer> candidates = new LinkedHashMap<>();
+		candidates.put(slow, 1);
+		candidates.put(fast, 0);
+		assertSame(RemoteNodeRouter.leastLoaded(candidates), fast);
+	}
+
+	@Test
+	public void statusUrlKeepsPathAndDropsTrailingSlashes() throws IOException {
+		assertEquals(RemoteNodeRouter.statusUrl(new URL("http://grid:4444")).toString(), "http://grid:4444/status");
+		assertEquals(RemoteNodeRouter.statusUrl(new URL("http://grid:4444/")).toString(), "http://grid:4444/status");
+		assertEquals(RemoteNodeRouter.statusUrl(new URL("http://grid:4444/wd/hub//")).toString(),
+				"http://grid:4444/wd/hub/status");
+	}
+}
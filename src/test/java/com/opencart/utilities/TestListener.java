@@ -45,6 +45,9 @@ public class TestListener implements ITestListener {
         } catch (Exception e) {
             System.err.println("[WARNING] Unable to access WebDriver: " + e.getMessage());
         }
+        if (!ScreenshotUtils.supportsScreenshots(driver, result)) {
+            driver = null; // no screenshot: lite test, or a browser without screenshot support
+        }
 
         ExtentTestManager.logFail(result.getThrowable(), driver);
         System.out.println("[INFO] Test failed: " + result.getMethod().getMethodName());